@@ -1,10 +1,27 @@
 package de.soderer.argonaut;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.soderer.utilities.ParameterException;
+
 public class ActionDefinition {
 	private boolean verbose = false;
 
 	private String executeWorkflow = null;
 
+	private String server = null;
+
+	private final Map<String, String> parameters = new LinkedHashMap<>();
+
+	private String parameterCsvFile = null;
+
+	private Integer parallelTasks = null;
+
+	private boolean waitForCompletion = false;
+
+	private Integer waitTimeoutSeconds = null;
+
 	public boolean isVerbose() {
 		return verbose;
 	}
@@ -14,7 +31,23 @@ public class ActionDefinition {
 		return this;
 	}
 
-	public ActionDefinition checkParameters() {
+	public ActionDefinition checkParameters() throws ParameterException {
+		if (executeWorkflow == null) {
+			if (server != null) {
+				throw new ParameterException("server", "Parameter server is only allowed with executeWorkflow");
+			} else if (!parameters.isEmpty()) {
+				throw new ParameterException("parameter", "Parameter parameter is only allowed with executeWorkflow");
+			} else if (parameterCsvFile != null) {
+				throw new ParameterException("parameterCsv", "Parameter parameterCsv is only allowed with executeWorkflow");
+			} else if (parallelTasks != null) {
+				throw new ParameterException("parallel", "Parameter parallel is only allowed with executeWorkflow");
+			} else if (waitForCompletion) {
+				throw new ParameterException("wait", "Parameter wait is only allowed with executeWorkflow");
+			}
+		}
+		if (waitTimeoutSeconds != null && !waitForCompletion) {
+			throw new ParameterException("timeout", "Parameter timeout is only allowed with wait");
+		}
 		return this;
 	}
 
@@ -25,4 +58,58 @@ public class ActionDefinition {
 	public void setExecuteWorkflow(final String executeWorkflow) {
 		this.executeWorkflow = executeWorkflow;
 	}
+
+	public String getServer() {
+		return server;
+	}
+
+	public ActionDefinition setServer(final String server) {
+		this.server = server;
+		return this;
+	}
+
+	public Map<String, String> getParameters() {
+		return parameters;
+	}
+
+	public ActionDefinition addParameter(final String name, final String value) {
+		parameters.put(name, value);
+		return this;
+	}
+
+	public String getParameterCsvFile() {
+		return parameterCsvFile;
+	}
+
+	public ActionDefinition setParameterCsvFile(final String parameterCsvFile) {
+		this.parameterCsvFile = parameterCsvFile;
+		return this;
+	}
+
+	public Integer getParallelTasks() {
+		return parallelTasks;
+	}
+
+	public ActionDefinition setParallelTasks(final Integer parallelTasks) {
+		this.parallelTasks = parallelTasks;
+		return this;
+	}
+
+	public boolean isWaitForCompletion() {
+		return waitForCompletion;
+	}
+
+	public ActionDefinition setWaitForCompletion(final boolean waitForCompletion) {
+		this.waitForCompletion = waitForCompletion;
+		return this;
+	}
+
+	public Integer getWaitTimeoutSeconds() {
+		return waitTimeoutSeconds;
+	}
+
+	public ActionDefinition setWaitTimeoutSeconds(final Integer waitTimeoutSeconds) {
+		this.waitTimeoutSeconds = waitTimeoutSeconds;
+		return this;
+	}
 }
@@ -2,17 +2,28 @@ package de.soderer.argonaut;
 
 import java.awt.GraphicsEnvironment;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.text.NumberFormat;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 import org.eclipse.swt.widgets.Display;
 
 import de.soderer.argonaut.dlg.ArgonautDialog;
+import de.soderer.argonaut.helper.ArgoWfSchedulerClient;
+import de.soderer.argonaut.helper.ArgoWfSchedulerRequestExecutor;
+import de.soderer.argonaut.helper.PooledHttpTransport;
+import de.soderer.argonaut.helper.TaskExecution;
+import de.soderer.argonaut.helper.WorkflowTemplateCache;
+import de.soderer.argonaut.worker.ExecuteWorkflowWorker;
 import de.soderer.pac.PacScriptParser;
 import de.soderer.pac.utilities.ProxyConfiguration;
 import de.soderer.pac.utilities.ProxyConfiguration.ProxyConfigurationType;
@@ -27,6 +38,8 @@ import de.soderer.utilities.Version;
 import de.soderer.utilities.appupdate.ApplicationUpdateUtilities;
 import de.soderer.utilities.console.ConsoleType;
 import de.soderer.utilities.console.ConsoleUtilities;
+import de.soderer.utilities.csv.CsvFormat;
+import de.soderer.utilities.csv.CsvReader;
 import de.soderer.utilities.swt.ApplicationConfigurationDialog;
 import de.soderer.utilities.swt.ErrorDialog;
 import de.soderer.utilities.worker.WorkerParentDual;
@@ -68,6 +81,22 @@ public class Argonaut extends UpdateableConsoleApplication implements WorkerPare
 	public static final String CONFIG_PROXY_CONFIGURATION_TYPE = ApplicationConfigurationDialog.CONFIG_PROXY_CONFIGURATION_TYPE;
 	public static final String CONFIG_PROXY_URL = ApplicationConfigurationDialog.CONFIG_PROXY_URL;
 	public static final String CONFIG_TLS_SERVER_CERTIFICATE_CHECK = "TlsServerCertificateCheck";
+	public static final String CONFIG_MAX_PARALLEL_REQUESTS_PER_SERVER = "MaxParallelRequestsPerServer";
+	public static final String CONFIG_AUTO_REFRESH_INTERVAL_SECONDS = "AutoRefreshIntervalSeconds";
+	public static final String CONFIG_TASK_PAGE_SIZE = "TaskPageSize";
+	public static final String CONFIG_TASK_INSTANCE_CACHE_MAX_INSTANCES = "TaskInstanceCacheMaxInstances";
+	public static final String CONFIG_WORKFLOW_TEMPLATE_CACHE_SECONDS = "WorkflowTemplateCacheSeconds";
+	public static final String CONFIG_HEDGED_REQUESTS = "HedgedRequests";
+	public static final String CONFIG_OPERATION_TIMEOUT_SECONDS = "OperationTimeoutSeconds";
+	public static final String CONFIG_READ_TIMEOUT_SECONDS = "ReadTimeoutSeconds";
+
+	/** Environment variable for the client secret of servers configured without stored secret */
+	public static final String ENVIRONMENT_CLIENT_SECRET = "ARGONAUT_CLIENT_SECRET";
+
+	public static final int EXIT_CODE_OK = 0;
+	public static final int EXIT_CODE_ERROR = 1;
+	public static final int EXIT_CODE_TASK_FAILED = 2;
+	public static final int EXIT_CODE_TIMEOUT = 3;
 
 	private ActionDefinition actionDefinitionToExecute;
 
@@ -93,6 +122,30 @@ public class Argonaut extends UpdateableConsoleApplication implements WorkerPare
 		if (!applicationConfiguration.containsKey(Argonaut.CONFIG_TLS_SERVER_CERTIFICATE_CHECK)) {
 			applicationConfiguration.set(Argonaut.CONFIG_TLS_SERVER_CERTIFICATE_CHECK, "true");
 		}
+		if (!applicationConfiguration.containsKey(Argonaut.CONFIG_MAX_PARALLEL_REQUESTS_PER_SERVER)) {
+			applicationConfiguration.set(Argonaut.CONFIG_MAX_PARALLEL_REQUESTS_PER_SERVER, Integer.toString(ArgoWfSchedulerRequestExecutor.DEFAULT_MAXIMUM_PARALLEL_REQUESTS));
+		}
+		if (!applicationConfiguration.containsKey(Argonaut.CONFIG_AUTO_REFRESH_INTERVAL_SECONDS)) {
+			applicationConfiguration.set(Argonaut.CONFIG_AUTO_REFRESH_INTERVAL_SECONDS, "10");
+		}
+		if (!applicationConfiguration.containsKey(Argonaut.CONFIG_TASK_PAGE_SIZE)) {
+			applicationConfiguration.set(Argonaut.CONFIG_TASK_PAGE_SIZE, "100");
+		}
+		if (!applicationConfiguration.containsKey(Argonaut.CONFIG_TASK_INSTANCE_CACHE_MAX_INSTANCES)) {
+			applicationConfiguration.set(Argonaut.CONFIG_TASK_INSTANCE_CACHE_MAX_INSTANCES, "50000");
+		}
+		if (!applicationConfiguration.containsKey(Argonaut.CONFIG_WORKFLOW_TEMPLATE_CACHE_SECONDS)) {
+			applicationConfiguration.set(Argonaut.CONFIG_WORKFLOW_TEMPLATE_CACHE_SECONDS, Long.toString(WorkflowTemplateCache.DEFAULT_TIME_TO_LIVE.getSeconds()));
+		}
+		if (!applicationConfiguration.containsKey(Argonaut.CONFIG_HEDGED_REQUESTS)) {
+			applicationConfiguration.set(Argonaut.CONFIG_HEDGED_REQUESTS, false);
+		}
+		if (!applicationConfiguration.containsKey(Argonaut.CONFIG_OPERATION_TIMEOUT_SECONDS)) {
+			applicationConfiguration.set(Argonaut.CONFIG_OPERATION_TIMEOUT_SECONDS, "120");
+		}
+		if (!applicationConfiguration.containsKey(Argonaut.CONFIG_READ_TIMEOUT_SECONDS)) {
+			applicationConfiguration.set(Argonaut.CONFIG_READ_TIMEOUT_SECONDS, Long.toString(PooledHttpTransport.DEFAULT_READ_TIMEOUT.getSeconds()));
+		}
 	}
 
 	/** The usage message. */
@@ -223,17 +276,82 @@ public class Argonaut extends UpdateableConsoleApplication implements WorkerPare
 				if ("-executeWorkflow".equalsIgnoreCase(arguments[i])) {
 					i++;
 					if (i >= arguments.length) {
-						throw new ParameterException(arguments[i - 1], "Missing parameter for importFromExcel");
+						throw new ParameterException(arguments[i - 1], "Missing parameter for executeWorkflow");
 					} else if (Utilities.isBlank(arguments[i])) {
-						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for importFromExcel");
+						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for executeWorkflow");
 					} else if (actionDefinition.getExecuteWorkflow() != null) {
-						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Duplicate parameter importFromExcel");
-					} else if (actionDefinition.getExecuteWorkflow() != null) {
-						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Only one of parameters importToExcel and exportFromExcel is allowed");
+						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Duplicate parameter executeWorkflow");
 					} else {
 						actionDefinition.setExecuteWorkflow(arguments[i]);
 					}
 					wasAllowedParam = true;
+				} else if ("-server".equalsIgnoreCase(arguments[i])) {
+					i++;
+					if (i >= arguments.length) {
+						throw new ParameterException(arguments[i - 1], "Missing parameter for server");
+					} else if (Utilities.isBlank(arguments[i])) {
+						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for server");
+					} else if (actionDefinition.getServer() != null) {
+						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Duplicate parameter server");
+					} else {
+						actionDefinition.setServer(arguments[i]);
+					}
+					wasAllowedParam = true;
+				} else if ("-parameter".equalsIgnoreCase(arguments[i])) {
+					i++;
+					if (i >= arguments.length) {
+						throw new ParameterException(arguments[i - 1], "Missing parameter for parameter");
+					} else if (!arguments[i].contains("=") || Utilities.isBlank(arguments[i].substring(0, arguments[i].indexOf("=")))) {
+						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for parameter, expected name=value");
+					} else if (actionDefinition.getParameters().containsKey(arguments[i].substring(0, arguments[i].indexOf("=")).trim())) {
+						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Duplicate parameter parameter for '" + arguments[i].substring(0, arguments[i].indexOf("=")).trim() + "'");
+					} else {
+						actionDefinition.addParameter(arguments[i].substring(0, arguments[i].indexOf("=")).trim(), arguments[i].substring(arguments[i].indexOf("=") + 1));
+					}
+					wasAllowedParam = true;
+				} else if ("-parameterCsv".equalsIgnoreCase(arguments[i])) {
+					i++;
+					if (i >= arguments.length) {
+						throw new ParameterException(arguments[i - 1], "Missing parameter for parameterCsv");
+					} else if (Utilities.isBlank(arguments[i]) || !new File(arguments[i]).isFile()) {
+						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for parameterCsv, file does not exist");
+					} else if (actionDefinition.getParameterCsvFile() != null) {
+						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Duplicate parameter parameterCsv");
+					} else {
+						actionDefinition.setParameterCsvFile(arguments[i]);
+					}
+					wasAllowedParam = true;
+				} else if ("-parallel".equalsIgnoreCase(arguments[i])) {
+					i++;
+					if (i >= arguments.length) {
+						throw new ParameterException(arguments[i - 1], "Missing parameter for parallel");
+					} else if (!isPositiveInteger(arguments[i])) {
+						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for parallel, expected positive number");
+					} else if (actionDefinition.getParallelTasks() != null) {
+						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Duplicate parameter parallel");
+					} else {
+						actionDefinition.setParallelTasks(Integer.parseInt(arguments[i].trim()));
+					}
+					wasAllowedParam = true;
+				} else if ("-wait".equalsIgnoreCase(arguments[i])) {
+					if (actionDefinition.isWaitForCompletion()) {
+						throw new ParameterException(arguments[i], "Duplicate parameter wait");
+					} else {
+						actionDefinition.setWaitForCompletion(true);
+					}
+					wasAllowedParam = true;
+				} else if ("-timeout".equalsIgnoreCase(arguments[i])) {
+					i++;
+					if (i >= arguments.length) {
+						throw new ParameterException(arguments[i - 1], "Missing parameter for timeout");
+					} else if (!isPositiveInteger(arguments[i])) {
+						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Invalid parameter for timeout, expected positive number of seconds");
+					} else if (actionDefinition.getWaitTimeoutSeconds() != null) {
+						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Duplicate parameter timeout");
+					} else {
+						actionDefinition.setWaitTimeoutSeconds(Integer.parseInt(arguments[i].trim()));
+					}
+					wasAllowedParam = true;
 				} else if ("-v".equalsIgnoreCase(arguments[i])) {
 					if (actionDefinition.isVerbose()) {
 						throw new ParameterException(arguments[i - 1] + " " + arguments[i], "Duplicate parameter 'v'");
@@ -276,8 +394,7 @@ public class Argonaut extends UpdateableConsoleApplication implements WorkerPare
 
 				// Start the worker for terminal output
 				try {
-					new Argonaut().execute(actionDefinition, applicationConfiguration);
-					return 0;
+					return new Argonaut().execute(actionDefinition, applicationConfiguration);
 				} catch (final ArgonautException e) {
 					System.err.println(e.getMessage());
 					return 1;
@@ -301,15 +418,138 @@ public class Argonaut extends UpdateableConsoleApplication implements WorkerPare
 		super(APPLICATION_NAME, VERSION);
 	}
 
-	private void execute(final ActionDefinition actionDefinition, @SuppressWarnings("unused") final ConfigurationProperties applicationConfiguration) throws Exception {
+	private static boolean isPositiveInteger(final String value) {
 		try {
-			actionDefinitionToExecute = actionDefinition;
+			return Integer.parseInt(value.trim()) > 0;
+		} catch (@SuppressWarnings("unused") final NumberFormatException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Executes the given action and returns the exit code of the application
+	 */
+	private int execute(final ActionDefinition actionDefinition, final ConfigurationProperties applicationConfiguration) throws Exception {
+		actionDefinitionToExecute = actionDefinition;
 
-			if (actionDefinition.getExecuteWorkflow() != null) {
-				System.out.println();
+		if (actionDefinition.getExecuteWorkflow() != null) {
+			return executeWorkflow(actionDefinition, applicationConfiguration);
+		} else {
+			return EXIT_CODE_OK;
+		}
+	}
+
+	private int executeWorkflow(final ActionDefinition actionDefinition, final ConfigurationProperties applicationConfiguration) throws Exception {
+		final ServerConfiguration serverConfiguration = getServerConfiguration(actionDefinition.getServer());
+		String clientSecret = serverConfiguration.getClientSecret();
+		if (Utilities.isBlank(clientSecret)) {
+			clientSecret = System.getenv(ENVIRONMENT_CLIENT_SECRET);
+			if (Utilities.isBlank(clientSecret)) {
+				throw new ArgonautException("No client secret configured for server '" + serverConfiguration.getDisplayName() + "'. Set it in the GUI or in environment variable " + ENVIRONMENT_CLIENT_SECRET);
 			}
-		} catch (final Exception e) {
-			throw e;
+		}
+
+		final ArgoWfSchedulerClient argoWfSchedulerClient = new ArgoWfSchedulerClient(
+				ProxyConfigurationType.getFromString(applicationConfiguration.get(ApplicationConfigurationDialog.CONFIG_PROXY_CONFIGURATION_TYPE)),
+				applicationConfiguration.get(ApplicationConfigurationDialog.CONFIG_PROXY_URL),
+				Utilities.interpretAsBool(applicationConfiguration.get(Argonaut.CONFIG_TLS_SERVER_CERTIFICATE_CHECK)),
+				serverConfiguration.getIdpUrl(),
+				serverConfiguration.getRealmID(),
+				serverConfiguration.getClientID(),
+				clientSecret,
+				serverConfiguration.getArgoWfSchedulerBaseUrl());
+		if (Utilities.isNotBlank(applicationConfiguration.get(Argonaut.CONFIG_MAX_PARALLEL_REQUESTS_PER_SERVER))) {
+			argoWfSchedulerClient.setMaximumParallelRequests(Integer.parseInt(applicationConfiguration.get(Argonaut.CONFIG_MAX_PARALLEL_REQUESTS_PER_SERVER).trim()));
+		}
+		if (Utilities.isNotBlank(applicationConfiguration.get(Argonaut.CONFIG_READ_TIMEOUT_SECONDS))) {
+			argoWfSchedulerClient.setReadTimeout(Duration.ofSeconds(Integer.parseInt(applicationConfiguration.get(Argonaut.CONFIG_READ_TIMEOUT_SECONDS).trim())));
+		}
+
+		final List<Map<String, String>> parameterSets = actionDefinition.getParameterCsvFile() == null ? null : readParameterSets(new File(actionDefinition.getParameterCsvFile()));
+
+		final int parallelTasks = actionDefinition.getParallelTasks() != null ? actionDefinition.getParallelTasks() : argoWfSchedulerClient.getMaximumParallelRequests();
+		final Duration waitTimeout = actionDefinition.getWaitTimeoutSeconds() == null ? null : Duration.ofSeconds(actionDefinition.getWaitTimeoutSeconds());
+		final ExecuteWorkflowWorker worker = new ExecuteWorkflowWorker(this, argoWfSchedulerClient, actionDefinition.getExecuteWorkflow(), actionDefinition.getParameters(), parameterSets, parallelTasks, actionDefinition.isWaitForCompletion(), waitTimeout);
+		worker.run();
+		final List<TaskExecution> taskExecutions;
+		try {
+			taskExecutions = worker.get();
+		} catch (final ExecutionException e) {
+			throw new ArgonautException("Cannot execute workflow '" + actionDefinition.getExecuteWorkflow() + "': " + e.getCause().getMessage(), e);
+		}
+
+		int exitCode = EXIT_CODE_OK;
+		for (final TaskExecution taskExecution : taskExecutions) {
+			System.out.println(taskExecution.toString());
+			switch (taskExecution.getState()) {
+				case CREATE_FAILED:
+				case START_FAILED:
+				case FAILED:
+					exitCode = Math.max(exitCode, EXIT_CODE_TASK_FAILED);
+					break;
+				case TIMED_OUT:
+				case CANCELLED:
+					exitCode = Math.max(exitCode, EXIT_CODE_TIMEOUT);
+					break;
+				default:
+					break;
+			}
+		}
+		return exitCode;
+	}
+
+	private static ServerConfiguration getServerConfiguration(final String serverName) throws Exception {
+		final Map<String, ServerConfiguration> serverConfigurations = ServerConfiguration.readServerConfigurations();
+		if (serverConfigurations.isEmpty()) {
+			throw new ArgonautException("No servers configured in " + ServerConfiguration.SERVERS_FILE.getAbsolutePath());
+		} else if (serverName != null) {
+			for (final ServerConfiguration serverConfiguration : serverConfigurations.values()) {
+				if (serverName.equalsIgnoreCase(serverConfiguration.getDisplayName())) {
+					return serverConfiguration;
+				}
+			}
+			throw new ArgonautException("Unknown server '" + serverName + "'. Available servers: " + String.join(", ", serverConfigurations.keySet()));
+		} else if (serverConfigurations.size() == 1) {
+			return serverConfigurations.values().iterator().next();
+		} else {
+			throw new ArgonautException("Multiple servers configured, select one by parameter -server: " + String.join(", ", serverConfigurations.keySet()));
+		}
+	}
+
+	/**
+	 * Reads one parameter set per data line of a CSV file (separator ';'), whose header line contains the parameter names
+	 */
+	private static List<Map<String, String>> readParameterSets(final File parameterCsvFile) throws Exception {
+		try (FileInputStream inputStream = new FileInputStream(parameterCsvFile);
+				CsvReader csvReader = new CsvReader(inputStream, new CsvFormat().setSeparator(';').setStringQuote('"').setStringQuoteEscapeCharacter('\\'))) {
+			final List<String> headerRow = csvReader.readNextCsvLine();
+			if (headerRow == null) {
+				throw new ArgonautException("Parameter csv file is empty");
+			}
+			final List<String> parameterNames = new ArrayList<>();
+			for (final String header : headerRow) {
+				if (Utilities.isBlank(header)) {
+					throw new ArgonautException("Parameter csv file contains an empty parameter name");
+				}
+				parameterNames.add(header.trim());
+			}
+
+			final List<Map<String, String>> parameterSets = new ArrayList<>();
+			List<String> valuesRow;
+			while ((valuesRow = csvReader.readNextCsvLine()) != null) {
+				if (valuesRow.size() != parameterNames.size()) {
+					throw new ArgonautException("Parameter csv file contains invalid number of values at row " + (parameterSets.size() + 2));
+				}
+				final Map<String, String> parameterSet = new LinkedHashMap<>();
+				for (int i = 0; i < parameterNames.size(); i++) {
+					parameterSet.put(parameterNames.get(i), valuesRow.get(i));
+				}
+				parameterSets.add(parameterSet);
+			}
+			if (parameterSets.isEmpty()) {
+				throw new ArgonautException("Parameter csv file contains no parameter sets");
+			}
+			return parameterSets;
 		}
 	}
 
@@ -1,8 +1,22 @@
 package de.soderer.argonaut;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.soderer.json.JsonArray;
+import de.soderer.json.JsonNode;
+import de.soderer.json.JsonObject;
+import de.soderer.json.JsonReader;
+import de.soderer.json.JsonWriter;
 import de.soderer.utilities.Utilities;
 
 public class ServerConfiguration {
+	public static final File SERVERS_FILE = new File(System.getProperty("user.home") + File.separator + "." + Argonaut.APPLICATION_NAME + File.separator + "Servers.json");
+
 	private String displayName;
 	private String idpUrl;
 	private String realmID;
@@ -67,4 +81,50 @@ public class ServerConfiguration {
 		this.clientSecret = clientSecret;
 		return this;
 	}
+
+	/**
+	 * Reads the configured servers from Servers.json, mapped by their display names
+	 */
+	public static Map<String, ServerConfiguration> readServerConfigurations() throws Exception {
+		final Map<String, ServerConfiguration> serverConfigurations = new LinkedHashMap<>();
+		if (SERVERS_FILE.exists()) {
+			try (JsonReader reader = new JsonReader(new FileInputStream(SERVERS_FILE))) {
+				final JsonArray serversArray = (JsonArray) reader.read();
+				for (final JsonNode itemJsonNode : serversArray.items()) {
+					final JsonObject itemJsonObject = (JsonObject) itemJsonNode;
+
+					final ServerConfiguration serverConfiguration = new ServerConfiguration();
+					serverConfiguration.setDisplayName((String) itemJsonObject.getSimpleValue("displayName"));
+					serverConfiguration.setIdpUrl((String) itemJsonObject.getSimpleValue("idpUrl"));
+					serverConfiguration.setRealmID((String) itemJsonObject.getSimpleValue("realmID"));
+					serverConfiguration.setArgoWfSchedulerBaseUrl((String) itemJsonObject.getSimpleValue("argoWfSchedulerBaseUrl"));
+					serverConfiguration.setClientID((String) itemJsonObject.getSimpleValue("clientID"));
+					serverConfiguration.setClientSecret((String) itemJsonObject.getSimpleValue("clientSecret"));
+
+					serverConfigurations.put(serverConfiguration.getDisplayName(), serverConfiguration);
+				}
+			}
+		}
+		return serverConfigurations;
+	}
+
+	public static void writeServerConfigurations(final Collection<ServerConfiguration> serverConfigurations) throws Exception {
+		try (JsonWriter writer = new JsonWriter(new FileOutputStream(SERVERS_FILE))) {
+			final JsonArray serversArray = new JsonArray();
+			for (final ServerConfiguration serversConfiguration : serverConfigurations) {
+				final JsonObject serverJsonObject = new JsonObject();
+				serverJsonObject.add("displayName", serversConfiguration.getDisplayName());
+				serverJsonObject.add("idpUrl", serversConfiguration.getIdpUrl());
+				serverJsonObject.add("realmID", serversConfiguration.getRealmID());
+				serverJsonObject.add("argoWfSchedulerBaseUrl", serversConfiguration.getArgoWfSchedulerBaseUrl());
+				serverJsonObject.add("clientID", serversConfiguration.getClientID());
+				if (serversConfiguration.getClientSecret() != null) {
+					serverJsonObject.add("clientSecret", serversConfiguration.getClientSecret());
+				}
+
+				serversArray.add(serverJsonObject);
+			}
+			writer.add(serversArray);
+		}
+	}
 }
@@ -1,17 +1,26 @@
 package de.soderer.argonaut.dlg;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.SashForm;
@@ -30,6 +39,7 @@ import org.eclipse.swt.widgets.Event;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Monitor;
+import org.eclipse.swt.widgets.ProgressBar;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableColumn;
 import org.eclipse.swt.widgets.TableItem;
@@ -38,14 +48,15 @@ import org.eclipse.swt.widgets.Text;
 import de.soderer.argonaut.Argonaut;
 import de.soderer.argonaut.ServerConfiguration;
 import de.soderer.argonaut.helper.ArgoWfSchedulerClient;
+import de.soderer.argonaut.helper.TaskInstanceCache;
 import de.soderer.argonaut.helper.TaskInstanceStatus;
+import de.soderer.argonaut.helper.TaskSearchQuery;
 import de.soderer.argonaut.helper.TaskStatus;
+import de.soderer.argonaut.helper.TaskStatusBulkLoadResult;
 import de.soderer.argonaut.image.ImageManager;
-import de.soderer.json.JsonArray;
-import de.soderer.json.JsonNode;
-import de.soderer.json.JsonObject;
-import de.soderer.json.JsonReader;
-import de.soderer.json.JsonWriter;
+import de.soderer.argonaut.worker.LoadTaskInstancesWorker;
+import de.soderer.argonaut.worker.LoadWorkflowTemplatesWorker;
+import de.soderer.argonaut.worker.StartTaskWorker;
 import de.soderer.json.utilities.Tuple;
 import de.soderer.network.NetworkUtilities;
 import de.soderer.pac.utilities.ProxyConfiguration;
@@ -66,11 +77,16 @@ import de.soderer.utilities.swt.ShowDataDialog;
 import de.soderer.utilities.swt.SwtColor;
 import de.soderer.utilities.swt.SwtUtilities;
 import de.soderer.utilities.swt.UpdateableGuiApplication;
+import de.soderer.utilities.worker.WorkerParentSimple;
+import de.soderer.utilities.worker.WorkerSimple;
 
 /**
  * Main Class
  */
 public class ArgonautDialog extends UpdateableGuiApplication {
+	/** Next task page is requested when the table is scrolled this close to its last row */
+	private static final int TASK_PAGE_PREFETCH_ROWS = 20;
+
 	private final ProxyConfiguration proxyConfiguration;
 	private ArgoWfSchedulerClient argoWfSchedulerClient = null;
 
@@ -79,11 +95,13 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 	private Button removeServerButton;
 	private Button editServerButton;
 	private Button reloadButton;
+	private Button autoRefreshButton;
 
 	private Composite rightPart = null;
 	private Composite parametersPart;
 	private ScrolledComposite scrolledPart;
 	private Map<String, Text> parametersTextFields;
+	private Label taskInstancesTableLabel;
 	private Table taskInstancesTable;
 	private int columnTaskIdIndex;
 	private int columnInstanceIdIndex;
@@ -97,6 +115,12 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 	private Composite workflowTemplateBox;
 	private Combo workflowTemplateCombo;
 
+	private Composite backgroundJobBox;
+	private Label backgroundJobLabel;
+	private ProgressBar backgroundJobProgressBar;
+	private Button cancelBackgroundJobButton;
+	private BackgroundJob currentBackgroundJob = null;
+
 	private Button startTaskButton;
 	private Button showLogDataButton;
 	private Button closeButton;
@@ -106,9 +130,23 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 
 	private String currentServerSelection = null;
 	private String currentWorkflowTemplateName = null;
+	private Map<String, String> currentWorkflowTemplateParameters = null;
 	private List<TaskInstanceStatus> listOfTaskInstanceStatus = new ArrayList<>();
+	private Map<Integer, Integer> taskInstanceIndexByID = new HashMap<>();
+	private ZonedDateTime lastTaskUpdate = null;
+	/** Recurring tasks get new task instances without a task update, so they are reloaded by each auto refresh */
+	private Set<Integer> recurringTaskIDs = new LinkedHashSet<>();
+	private TaskSearchQuery nextTaskPageQuery = null;
 	private TaskInstanceStatus currentTaskInstanceStatus = null;
 
+	private final ScheduledExecutorService autoRefreshScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "AutoRefresh");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private ScheduledFuture<?> autoRefreshFuture = null;
+	private int autoRefreshGeneration = 0;
+
 	public ArgonautDialog(final Display display, final ConfigurationProperties applicationConfiguration) throws Exception {
 		super(display, Argonaut.APPLICATION_NAME, Argonaut.VERSION, Argonaut.KEYSTORE_FILE);
 
@@ -159,49 +197,13 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 	}
 
 	private void loadConfiguration() throws Exception {
-		final File serversFile = new File(System.getProperty("user.home") + File.separator + "." + Argonaut.APPLICATION_NAME + File.separator + "Servers.json");
-		if (serversFile.exists()) {
-			try (JsonReader reader = new JsonReader(new FileInputStream(serversFile))) {
-				final JsonArray serversArray = (JsonArray) reader.read();
-				serverConfigurations = new LinkedHashMap<>();
-				for (final JsonNode itemJsonNode : serversArray.items()) {
-					final JsonObject itemJsonObject = (JsonObject) itemJsonNode;
-
-					final ServerConfiguration serverConfiguration = new ServerConfiguration();
-					serverConfiguration.setDisplayName((String) itemJsonObject.getSimpleValue("displayName"));
-					serverConfiguration.setIdpUrl((String) itemJsonObject.getSimpleValue("idpUrl"));
-					serverConfiguration.setRealmID((String) itemJsonObject.getSimpleValue("realmID"));
-					serverConfiguration.setArgoWfSchedulerBaseUrl((String) itemJsonObject.getSimpleValue("argoWfSchedulerBaseUrl"));
-					serverConfiguration.setClientID((String) itemJsonObject.getSimpleValue("clientID"));
-					serverConfiguration.setClientSecret((String) itemJsonObject.getSimpleValue("clientSecret"));
-
-					serverConfigurations.put(serverConfiguration.getDisplayName(), serverConfiguration);
-				}
-			}
-		}
+		serverConfigurations = ServerConfiguration.readServerConfigurations();
 
 		checkButtonStatus();
 	}
 
 	private void saveConfiguration() throws Exception {
-		final File serversFile = new File(System.getProperty("user.home") + File.separator + "." + Argonaut.APPLICATION_NAME + File.separator + "Servers.json");
-		try (JsonWriter writer = new JsonWriter(new FileOutputStream(serversFile))) {
-			final JsonArray serversArray = new JsonArray();
-			for (final ServerConfiguration serversConfiguration : serverConfigurations.values()) {
-				final JsonObject serverJsonObject = new JsonObject();
-				serverJsonObject.add("displayName", serversConfiguration.getDisplayName());
-				serverJsonObject.add("idpUrl", serversConfiguration.getIdpUrl());
-				serverJsonObject.add("realmID", serversConfiguration.getRealmID());
-				serverJsonObject.add("argoWfSchedulerBaseUrl", serversConfiguration.getArgoWfSchedulerBaseUrl());
-				serverJsonObject.add("clientID", serversConfiguration.getClientID());
-				if (serversConfiguration.getClientSecret() != null) {
-					serverJsonObject.add("clientSecret", serversConfiguration.getClientSecret());
-				}
-
-				serversArray.add(serverJsonObject);
-			}
-			writer.add(serversArray);
-		}
+		ServerConfiguration.writeServerConfigurations(serverConfigurations.values());
 	}
 
 	private void createLeftPart(final SashForm parent) throws Exception {
@@ -245,23 +247,15 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 		serverSelectioncombo.addSelectionListener(new SelectionAdapter() {
 			@Override
 			public void widgetSelected(final SelectionEvent arg0) {
-				PleaseWaitDialog pleaseWaitDialog = null;
-				try {
-					pleaseWaitDialog = new PleaseWaitDialog(getShell(), Argonaut.APPLICATION_NAME);
-					pleaseWaitDialog.open();
-
-					currentServerSelection = ((Combo) arg0.getSource()).getText();
-					configureArgoWfSchedulerClient();
+				cancelBackgroundJob();
+				stopAutoRefresh();
+				currentServerSelection = ((Combo) arg0.getSource()).getText();
+				configureArgoWfSchedulerClient();
 
-					loadWorflowTemplates();
-					fillParametersPart(null, false);
+				loadWorflowTemplates();
+				fillParametersPart(null, false);
 
-					checkButtonStatus();
-				} finally {
-					if (pleaseWaitDialog != null) {
-						pleaseWaitDialog.hide();
-					}
-				}
+				checkButtonStatus();
 			}
 		});
 
@@ -383,7 +377,7 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 
 		// Workflow template selection
 		workflowTemplateBox = new Composite(leftPart, SWT.BORDER);
-		workflowTemplateBox.setLayout(SwtUtilities.createSmallMarginGridLayout(2, false));
+		workflowTemplateBox.setLayout(SwtUtilities.createSmallMarginGridLayout(3, false));
 		workflowTemplateBox.setLayoutData(new GridData(SWT.FILL, SWT.BOTTOM, true, false, 1, 1));
 
 		final Label workflowTemplateLabel = new Label(workflowTemplateBox, SWT.NONE);
@@ -398,22 +392,9 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 		workflowTemplateCombo.addSelectionListener(new SelectionAdapter() {
 			@Override
 			public void widgetSelected(final SelectionEvent arg0) {
-				PleaseWaitDialog pleaseWaitDialog = null;
-				try {
-					pleaseWaitDialog = new PleaseWaitDialog(getShell(), Argonaut.APPLICATION_NAME);
-					pleaseWaitDialog.open();
+				currentWorkflowTemplateName = ((Combo) arg0.getSource()).getText();
 
-					currentWorkflowTemplateName = ((Combo) arg0.getSource()).getText();
-
-					setupTable();
-					loadTaskParameters();
-
-					checkButtonStatus();
-				} finally {
-					if (pleaseWaitDialog != null) {
-						pleaseWaitDialog.hide();
-					}
-				}
+				loadTaskInstances();
 			}
 		});
 
@@ -424,37 +405,33 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 		reloadButton.addSelectionListener(new SelectionAdapter() {
 			@Override
 			public void widgetSelected(final SelectionEvent ev) {
-				try {
-					if (Utilities.isNotBlank(currentWorkflowTemplateName)) {
-						PleaseWaitDialog pleaseWaitDialog = null;
-						try {
-							pleaseWaitDialog = new PleaseWaitDialog(getShell(), Argonaut.APPLICATION_NAME);
-							pleaseWaitDialog.open();
-
-							setupTable();
-							loadTaskParameters();
-
-							checkButtonStatus();
-						} finally {
-							if (pleaseWaitDialog != null) {
-								pleaseWaitDialog.hide();
-							}
-						}
-
-						checkButtonStatus();
+				if (Utilities.isNotBlank(currentWorkflowTemplateName)) {
+					if (argoWfSchedulerClient != null) {
+						argoWfSchedulerClient.invalidateWorkflowTemplateCache();
 					}
-				} catch (final Exception e) {
-					showErrorMessage(LangResources.get("reloadTaskInstances"), "Cannot reload task instances: " + e.getMessage());
+					loadTaskInstances();
 				}
 			}
 		});
 
+		autoRefreshButton = new Button(workflowTemplateBox, SWT.TOGGLE);
+		autoRefreshButton.setImage(ImageManager.getImage("clock.png"));
+		autoRefreshButton.setToolTipText(LangResources.get("autoRefreshTaskInstances"));
+		autoRefreshButton.setLayoutData(new GridData(25, 25));
+		autoRefreshButton.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(final SelectionEvent ev) {
+				stopAutoRefresh();
+				scheduleAutoRefresh();
+			}
+		});
+
 		// Task selection
 		final Composite taskInstancesBox = new Composite(leftPart, SWT.BORDER);
 		taskInstancesBox.setLayout(SwtUtilities.createSmallMarginGridLayout(1, false));
 		taskInstancesBox.setLayoutData(new GridData(SWT.FILL, SWT.FILL, true, true, 7, 1));
 
-		final Label taskInstancesTableLabel = new Label(taskInstancesBox, SWT.NONE);
+		taskInstancesTableLabel = new Label(taskInstancesBox, SWT.NONE);
 		taskInstancesTableLabel.setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, true, false, 1, 1));
 		taskInstancesTableLabel.setText(LangResources.get("executedTaskInstances"));
 		taskInstancesTableLabel.setFont(new Font(getDisplay(), "Arial", 10, SWT.None));
@@ -505,6 +482,30 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 		columnSatus.setText(LangResources.get("columnheader_status"));
 		columnStatusIndex = Arrays.asList(taskInstancesTable.getColumns()).indexOf(columnSatus);
 		columnSatus.addListener(SWT.Selection, columnSortListener);
+
+		// Progress of the current background job
+		backgroundJobBox = new Composite(leftPart, SWT.NONE);
+		backgroundJobBox.setLayout(SwtUtilities.createSmallMarginGridLayout(3, false));
+		final GridData backgroundJobBoxGridData = new GridData(SWT.FILL, SWT.BOTTOM, true, false, 1, 1);
+		backgroundJobBoxGridData.exclude = true;
+		backgroundJobBox.setLayoutData(backgroundJobBoxGridData);
+		backgroundJobBox.setVisible(false);
+
+		backgroundJobLabel = new Label(backgroundJobBox, SWT.NONE);
+		backgroundJobLabel.setLayoutData(new GridData(SWT.LEFT, SWT.CENTER, false, false, 1, 1));
+
+		backgroundJobProgressBar = new ProgressBar(backgroundJobBox, SWT.HORIZONTAL | SWT.SMOOTH);
+		backgroundJobProgressBar.setLayoutData(new GridData(SWT.FILL, SWT.CENTER, true, false, 1, 1));
+
+		cancelBackgroundJobButton = new Button(backgroundJobBox, SWT.PUSH);
+		cancelBackgroundJobButton.setText(LangResources.get("cancel"));
+		cancelBackgroundJobButton.addSelectionListener(new SelectionAdapter() {
+			@Override
+			public void widgetSelected(final SelectionEvent ev) {
+				cancelBackgroundJob();
+				checkButtonStatus();
+			}
+		});
 	}
 
 	protected void configureArgoWfSchedulerClient() {
@@ -530,13 +531,31 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 
 				if (Utilities.isNotEmpty(clientSecret)) {
 					argoWfSchedulerClient = new ArgoWfSchedulerClient(
-							proxyConfiguration,
+							ProxyConfigurationType.getFromString(applicationConfiguration.get(ApplicationConfigurationDialog.CONFIG_PROXY_CONFIGURATION_TYPE)),
+							applicationConfiguration.get(ApplicationConfigurationDialog.CONFIG_PROXY_URL),
 							Utilities.interpretAsBool(applicationConfiguration.get(Argonaut.CONFIG_TLS_SERVER_CERTIFICATE_CHECK)),
 							serverConfiguration.getIdpUrl(),
 							serverConfiguration.getRealmID(),
 							serverConfiguration.getClientID(),
 							clientSecret,
 							serverConfiguration.getArgoWfSchedulerBaseUrl());
+					if (Utilities.isNotBlank(applicationConfiguration.get(Argonaut.CONFIG_MAX_PARALLEL_REQUESTS_PER_SERVER))) {
+						argoWfSchedulerClient.setMaximumParallelRequests(Integer.parseInt(applicationConfiguration.get(Argonaut.CONFIG_MAX_PARALLEL_REQUESTS_PER_SERVER).trim()));
+					}
+					argoWfSchedulerClient.setHedging(Utilities.interpretAsBool(applicationConfiguration.get(Argonaut.CONFIG_HEDGED_REQUESTS)));
+					if (Utilities.isNotBlank(applicationConfiguration.get(Argonaut.CONFIG_READ_TIMEOUT_SECONDS))) {
+						argoWfSchedulerClient.setReadTimeout(Duration.ofSeconds(Integer.parseInt(applicationConfiguration.get(Argonaut.CONFIG_READ_TIMEOUT_SECONDS).trim())));
+					}
+					if (Utilities.isNotBlank(applicationConfiguration.get(Argonaut.CONFIG_WORKFLOW_TEMPLATE_CACHE_SECONDS))) {
+						argoWfSchedulerClient.setWorkflowTemplateCacheTimeToLive(Duration.ofSeconds(Integer.parseInt(applicationConfiguration.get(Argonaut.CONFIG_WORKFLOW_TEMPLATE_CACHE_SECONDS).trim())));
+					}
+					if (Utilities.isNotBlank(applicationConfiguration.get(Argonaut.CONFIG_TASK_INSTANCE_CACHE_MAX_INSTANCES))) {
+						final int taskInstanceCacheMaxInstances = Integer.parseInt(applicationConfiguration.get(Argonaut.CONFIG_TASK_INSTANCE_CACHE_MAX_INSTANCES).trim());
+						if (taskInstanceCacheMaxInstances > 0) {
+							final File cacheDirectory = new File(System.getProperty("user.home") + File.separator + "." + Argonaut.APPLICATION_NAME + File.separator + "TaskInstanceCache");
+							argoWfSchedulerClient.setTaskInstanceCache(TaskInstanceCache.getInstance(cacheDirectory, serverConfiguration.getArgoWfSchedulerBaseUrl(), taskInstanceCacheMaxInstances));
+						}
+					}
 				} else {
 					argoWfSchedulerClient = null;
 					showErrorMessage(LangResources.get("loadWorkflowTemplates"), "Cannot create ArgoWfSchedulerClient: Missing Client Secret");
@@ -550,85 +569,309 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 		}
 	}
 
+	/**
+	 * Client for one background operation, whose requests fail after the configured operation timeout instead of waiting for an unresponsive server
+	 */
+	private ArgoWfSchedulerClient getOperationClient() {
+		final Duration operationTimeout = getOperationTimeout();
+		if (argoWfSchedulerClient != null && operationTimeout != null) {
+			return argoWfSchedulerClient.withDeadline(operationTimeout);
+		} else {
+			return argoWfSchedulerClient;
+		}
+	}
+
+	/**
+	 * Configured timeout of background operations, null for no timeout
+	 */
+	private Duration getOperationTimeout() {
+		if (Utilities.isNotBlank(applicationConfiguration.get(Argonaut.CONFIG_OPERATION_TIMEOUT_SECONDS))) {
+			final int operationTimeoutSeconds = Integer.parseInt(applicationConfiguration.get(Argonaut.CONFIG_OPERATION_TIMEOUT_SECONDS).trim());
+			if (operationTimeoutSeconds > 0) {
+				return Duration.ofSeconds(operationTimeoutSeconds);
+			}
+		}
+		return null;
+	}
+
 	protected void loadWorflowTemplates() {
-		try {
-			if (argoWfSchedulerClient != null) {
-				final List<String> workflowNames = argoWfSchedulerClient.getWorkflowNames();
+		workflowTemplateCombo.setItems(new String[0]);
+		if (argoWfSchedulerClient != null) {
+			final BackgroundJob backgroundJob = startBackgroundJob();
+			backgroundJob.execute(new LoadWorkflowTemplatesWorker(backgroundJob, getOperationClient()), workflowNames -> {
 				workflowTemplateCombo.setItems(workflowNames.toArray(new String[0]));
 
 				checkButtonStatus();
-			} else {
-				workflowTemplateCombo.setItems(new String[0]);
-			}
-		} catch (final Exception e) {
-			workflowTemplateCombo.setItems(new String[0]);
-			showErrorMessage(LangResources.get("loadWorkflowTemplates"), "Cannot load workflow templates: " + e.getMessage());
+			}, e -> showErrorMessage(LangResources.get("loadWorkflowTemplates"), "Cannot load workflow templates: " + e.getMessage()));
 		}
 	}
 
-	private void loadTaskParameters() {
-		Map<String, String> taskParameters = null;
-		try {
-			if (argoWfSchedulerClient != null) {
-				taskParameters = argoWfSchedulerClient.getWorkflowTemplateParameters(currentWorkflowTemplateName);
+	/**
+	 * Loads the first page of task instances and the parameters of the current workflow template in background.
+	 * Further pages are loaded when the table is scrolled near its end.
+	 */
+	private void loadTaskInstances() {
+		stopAutoRefresh();
+		resetTable();
+		currentWorkflowTemplateParameters = null;
+		fillParametersPart(null, false);
+		checkButtonStatus();
+
+		if (argoWfSchedulerClient == null || Utilities.isBlank(currentWorkflowTemplateName)) {
+			return;
+		}
+
+		final TaskSearchQuery query = new TaskSearchQuery().setWorkflowTemplateName(currentWorkflowTemplateName).setSort(TaskSearchQuery.SORT_CREATED_DESCENDING);
+		if (Utilities.isNotBlank(applicationConfiguration.get(Argonaut.CONFIG_TASK_PAGE_SIZE))) {
+			final int pageSize = Integer.parseInt(applicationConfiguration.get(Argonaut.CONFIG_TASK_PAGE_SIZE).trim());
+			if (pageSize > 0) {
+				query.setPage(0).setSize(pageSize);
 			}
-		} catch (final Exception e) {
-			showErrorMessage(LangResources.get("loadTaskParameters"), "Cannot load task parameters: " + e.getMessage());
 		}
+		loadTaskPage(query);
+	}
 
-		fillParametersPart(taskParameters, false);
+	/**
+	 * nextTaskPageQuery stays set until the page is loaded, so a cancelled page load is repeated when the table is scrolled again
+	 */
+	private void loadTaskPage(final TaskSearchQuery query) {
+		stopAutoRefresh();
+
+		final ArgoWfSchedulerClient client = getOperationClient();
+		final List<TaskInstanceStatus> tableRows = listOfTaskInstanceStatus;
+		final int firstRowIndex = listOfTaskInstanceStatus.size();
+		final BackgroundJob backgroundJob = startBackgroundJob();
+		backgroundJob.setCancelHandler(() -> {
+			// Rows of the partly loaded page are dropped and auto refresh was stopped for this page load only, unless the table was reset for another template meanwhile
+			if (tableRows == listOfTaskInstanceStatus) {
+				listOfTaskInstanceStatus.subList(Math.min(firstRowIndex, listOfTaskInstanceStatus.size()), listOfTaskInstanceStatus.size()).clear();
+				taskInstanceIndexByID.values().removeIf(index -> index >= firstRowIndex);
+				taskInstancesTable.setItemCount(listOfTaskInstanceStatus.size());
+				scheduleAutoRefresh();
+			}
+		});
+		final LoadTaskInstancesWorker worker = new LoadTaskInstancesWorker(backgroundJob, client, query, taskStatus -> backgroundJob.asyncExecIfCurrent(() -> {
+			applyTaskStatus(taskStatus);
+			if (taskInstancesTable.getItemCount() != listOfTaskInstanceStatus.size()) {
+				taskInstancesTable.setItemCount(listOfTaskInstanceStatus.size());
+			}
+			checkButtonStatus();
+		}));
+		backgroundJob.execute(worker, taskStatusBulkLoadResult -> {
+			showTaskPage(firstRowIndex, taskStatusBulkLoadResult.getTaskStatusList());
+			taskInstancesTableLabel.setToolTipText(taskStatusBulkLoadResult.toString() + "\n" + client.getHttpTransport().getStatisticsText());
+
+			if (worker.getWorkflowTemplateParameters() != null) {
+				currentWorkflowTemplateParameters = worker.getWorkflowTemplateParameters();
+				if (currentTaskInstanceStatus == null) {
+					fillParametersPart(currentWorkflowTemplateParameters, false);
+				}
+			}
 
-		checkButtonStatus();
+			nextTaskPageQuery = taskStatusBulkLoadResult.isLastPage() ? null : query.nextPage();
+
+			checkButtonStatus();
+			scheduleAutoRefresh();
+			loadNextTaskPageIfNeeded();
+		}, e -> {
+			nextTaskPageQuery = null;
+			showErrorMessage(LangResources.get("reloadTaskInstances"), "Cannot load task instances: " + e.getMessage());
+			scheduleAutoRefresh();
+		});
 	}
 
-	private void setupTable() {
-		try {
-			if (currentFillDataListener != null) {
-				taskInstancesTable.removeListener(SWT.SetData, currentFillDataListener);
-				currentFillDataListener = null;
-				taskInstancesTable.setItemCount(0);
-			}
-
-			taskInstancesTable.clearAll();
-			for (final TableColumn column : taskInstancesTable.getColumns()) {
-				if (!column.getText().equals(LangResources.get("columnheader_dummy"))
-						&& !column.getText().equals(LangResources.get("columnheader_taskid"))
-						&& !column.getText().equals(LangResources.get("columnheader_instanceid"))
-						&& !column.getText().equals(LangResources.get("columnheader_name"))
-						&& !column.getText().equals(LangResources.get("columnheader_start"))
-						&& !column.getText().equals(LangResources.get("columnheader_status"))) {
-					column.dispose();
-				}
+	/**
+	 * Starts loading the next task page, if the last loaded rows are visible or near the visible area of the table
+	 */
+	private void loadNextTaskPageIfNeeded() {
+		if (nextTaskPageQuery == null || currentBackgroundJob != null || isDisposed() || taskInstancesTable.getItemHeight() <= 0) {
+			return;
+		}
+
+		final int visibleRows = taskInstancesTable.getClientArea().height / taskInstancesTable.getItemHeight();
+		if (taskInstancesTable.getTopIndex() + visibleRows + TASK_PAGE_PREFETCH_ROWS >= listOfTaskInstanceStatus.size()) {
+			loadTaskPage(nextTaskPageQuery);
+		}
+	}
+
+	private void resetTable() {
+		if (currentFillDataListener != null) {
+			taskInstancesTable.removeListener(SWT.SetData, currentFillDataListener);
+			currentFillDataListener = null;
+			taskInstancesTable.setItemCount(0);
+		}
+
+		taskInstancesTable.clearAll();
+		for (final TableColumn column : taskInstancesTable.getColumns()) {
+			if (!column.getText().equals(LangResources.get("columnheader_dummy"))
+					&& !column.getText().equals(LangResources.get("columnheader_taskid"))
+					&& !column.getText().equals(LangResources.get("columnheader_instanceid"))
+					&& !column.getText().equals(LangResources.get("columnheader_name"))
+					&& !column.getText().equals(LangResources.get("columnheader_start"))
+					&& !column.getText().equals(LangResources.get("columnheader_status"))) {
+				column.dispose();
 			}
+		}
 
-			listOfTaskInstanceStatus = new ArrayList<>();
-			currentTaskInstanceStatus = null;
-			final List<Integer> taskIds = argoWfSchedulerClient.getWorkflowTemplateTaskIds(currentWorkflowTemplateName);
-			for (final Integer taskID : taskIds) {
-				final TaskStatus taskStatus = argoWfSchedulerClient.getTaskStatus(taskID);
-				for (final TaskInstanceStatus instanceStatus : taskStatus.getInstances().values()) {
-					instanceStatus.setTaskStatus(taskStatus);
+		listOfTaskInstanceStatus = new ArrayList<>();
+		taskInstanceIndexByID = new HashMap<>();
+		lastTaskUpdate = null;
+		recurringTaskIDs = new LinkedHashSet<>();
+		nextTaskPageQuery = null;
+		currentTaskInstanceStatus = null;
+
+		currentFillDataListener = new FillDataListener();
+		taskInstancesTable.addListener(SWT.SetData, currentFillDataListener);
+
+		taskInstancesTable.setSortColumn(taskInstancesTable.getColumn(1));
+		taskInstancesTable.setSortDirection(SWT.UP);
+	}
+
+	/**
+	 * Brings the streamed task instances of a page into the order of its complete load result, keeping the current selection.
+	 * Task instances already shown in rows before the page (e.g. shifted by newly created tasks) are not shown twice.
+	 */
+	private void showTaskPage(final int firstRowIndex, final List<TaskStatus> taskStatusList) {
+		listOfTaskInstanceStatus.subList(Math.min(firstRowIndex, listOfTaskInstanceStatus.size()), listOfTaskInstanceStatus.size()).clear();
+		taskInstanceIndexByID.values().removeIf(index -> index >= firstRowIndex);
+		for (final TaskStatus taskStatus : taskStatusList) {
+			for (final TaskInstanceStatus instanceStatus : taskStatus.getInstances().values()) {
+				instanceStatus.setTaskStatus(taskStatus);
+				if (!taskInstanceIndexByID.containsKey(instanceStatus.getTaskInstanceID())) {
+					taskInstanceIndexByID.put(instanceStatus.getTaskInstanceID(), listOfTaskInstanceStatus.size());
 					listOfTaskInstanceStatus.add(instanceStatus);
 				}
 			}
+			registerTaskUpdate(taskStatus);
+		}
 
-			currentFillDataListener = new FillDataListener();
-			taskInstancesTable.addListener(SWT.SetData, currentFillDataListener);
+		taskInstancesTable.setItemCount(listOfTaskInstanceStatus.size());
+		if (firstRowIndex < listOfTaskInstanceStatus.size()) {
+			taskInstancesTable.clear(firstRowIndex, listOfTaskInstanceStatus.size() - 1);
+		}
+		if (currentTaskInstanceStatus != null && taskInstanceIndexByID.containsKey(currentTaskInstanceStatus.getTaskInstanceID())) {
+			taskInstancesTable.setSelection(taskInstanceIndexByID.get(currentTaskInstanceStatus.getTaskInstanceID()));
+		} else {
+			taskInstancesTable.deselectAll();
+		}
+	}
 
-			taskInstancesTable.setItemCount(listOfTaskInstanceStatus.size());
+	private void registerTaskUpdate(final TaskStatus taskStatus) {
+		if (taskStatus.getUpdated() != null && (lastTaskUpdate == null || taskStatus.getUpdated().isAfter(lastTaskUpdate))) {
+			lastTaskUpdate = taskStatus.getUpdated();
+		}
+		if (taskStatus.isRecurring()) {
+			recurringTaskIDs.add(taskStatus.getTaskID());
+		}
+	}
 
-			taskInstancesTable.setSortColumn(taskInstancesTable.getColumn(1));
-			taskInstancesTable.setSortDirection(SWT.UP);
+	/**
+	 * Schedules the next delta poll for the current workflow template.
+	 * The poll itself runs in background, only the changed table rows are updated afterwards in the UI thread, which then schedules the next poll.
+	 */
+	private void scheduleAutoRefresh() {
+		if (autoRefreshButton == null || !autoRefreshButton.getSelection() || argoWfSchedulerClient == null || Utilities.isBlank(currentWorkflowTemplateName) || currentFillDataListener == null) {
+			return;
+		}
 
-			for (final Control field : parametersPart.getChildren()) {
-				field.dispose();
+		final Display display = getDisplay();
+		final ArgoWfSchedulerClient client = argoWfSchedulerClient;
+		final Duration operationTimeout = getOperationTimeout();
+		final String workflowTemplateName = currentWorkflowTemplateName;
+		final ZonedDateTime updatedSince = lastTaskUpdate;
+		final List<Integer> unfinishedTaskInstanceIDs = new ArrayList<>();
+		for (final TaskInstanceStatus taskInstanceStatus : listOfTaskInstanceStatus) {
+			if (!taskInstanceStatus.isFinished()) {
+				unfinishedTaskInstanceIDs.add(taskInstanceStatus.getTaskInstanceID());
 			}
+		}
+		final List<Integer> recurringTaskIDsToReload = new ArrayList<>(recurringTaskIDs);
+		final int generation = ++autoRefreshGeneration;
 
-			parametersPart.layout();
+		int intervalSeconds = 10;
+		if (Utilities.isNotBlank(applicationConfiguration.get(Argonaut.CONFIG_AUTO_REFRESH_INTERVAL_SECONDS))) {
+			intervalSeconds = Math.max(1, Integer.parseInt(applicationConfiguration.get(Argonaut.CONFIG_AUTO_REFRESH_INTERVAL_SECONDS).trim()));
+		}
 
-			checkButtonStatus();
-		} catch (final Exception e) {
-			showErrorMessage(LangResources.get("startTask"), "Cannot show task in table: " + e.getMessage());
+		autoRefreshFuture = autoRefreshScheduler.schedule(() -> {
+			try {
+				// The deadline starts with the poll and not when it is scheduled
+				final ArgoWfSchedulerClient pollClient = operationTimeout == null ? client : client.withDeadline(operationTimeout);
+				final TaskStatusBulkLoadResult changes = pollClient.getWorkflowTemplateTaskStatusChanges(workflowTemplateName, updatedSince, unfinishedTaskInstanceIDs, recurringTaskIDsToReload);
+				if (!display.isDisposed()) {
+					display.asyncExec(() -> {
+						if (!isDisposed() && generation == autoRefreshGeneration) {
+							applyTaskStatusChanges(changes);
+							scheduleAutoRefresh();
+						}
+					});
+				}
+			} catch (final Exception e) {
+				if (!display.isDisposed()) {
+					display.asyncExec(() -> {
+						if (!isDisposed() && generation == autoRefreshGeneration) {
+							autoRefreshButton.setSelection(false);
+							showErrorMessage(LangResources.get("autoRefreshTaskInstances"), "Cannot refresh task instances: " + e.getMessage());
+						}
+					});
+				}
+			}
+		}, intervalSeconds, TimeUnit.SECONDS);
+	}
+
+	private void stopAutoRefresh() {
+		autoRefreshGeneration++;
+		if (autoRefreshFuture != null) {
+			autoRefreshFuture.cancel(false);
+			autoRefreshFuture = null;
+		}
+	}
+
+	/**
+	 * Replaces the changed task instances and clears only their table rows
+	 */
+	private void applyTaskStatusChanges(final TaskStatusBulkLoadResult changes) {
+		for (final TaskStatus taskStatus : changes.getTaskStatusList()) {
+			applyTaskStatus(taskStatus);
+		}
+		for (final TaskInstanceStatus instanceStatus : changes.getRefreshedTaskInstanceStatusList()) {
+			applyTaskInstanceStatus(instanceStatus);
+		}
+
+		if (taskInstancesTable.getItemCount() != listOfTaskInstanceStatus.size()) {
+			taskInstancesTable.setItemCount(listOfTaskInstanceStatus.size());
+		}
+
+		checkButtonStatus();
+	}
+
+	private void applyTaskStatus(final TaskStatus taskStatus) {
+		for (final TaskInstanceStatus instanceStatus : taskStatus.getInstances().values()) {
+			instanceStatus.setTaskStatus(taskStatus);
+			applyTaskInstanceStatus(instanceStatus);
+		}
+		registerTaskUpdate(taskStatus);
+	}
+
+	private void applyTaskInstanceStatus(final TaskInstanceStatus instanceStatus) {
+		final Integer index = taskInstanceIndexByID.get(instanceStatus.getTaskInstanceID());
+		if (index == null) {
+			taskInstanceIndexByID.put(instanceStatus.getTaskInstanceID(), listOfTaskInstanceStatus.size());
+			listOfTaskInstanceStatus.add(instanceStatus);
+		} else {
+			// The row object is replaced and not updated in place, because loaded status objects may be shared
+			final TaskInstanceStatus previousInstanceStatus = listOfTaskInstanceStatus.get(index);
+			final TaskInstanceStatus newInstanceStatus = new TaskInstanceStatus(instanceStatus);
+			if (newInstanceStatus.getTaskStatus() == null) {
+				newInstanceStatus.setTaskStatus(previousInstanceStatus.getTaskStatus());
+			}
+			listOfTaskInstanceStatus.set(index, newInstanceStatus);
+			if (currentTaskInstanceStatus == previousInstanceStatus) {
+				currentTaskInstanceStatus = newInstanceStatus;
+			}
+			if (index < taskInstancesTable.getItemCount()) {
+				taskInstancesTable.clear(index);
+			}
 		}
 	}
 
@@ -638,6 +881,11 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 			final TableItem item = (TableItem) event.item;
 			final int index = taskInstancesTable.indexOf(item);
 			fillPropertyDataInTableItem(index, item);
+
+			if (nextTaskPageQuery != null && index + TASK_PAGE_PREFETCH_ROWS >= listOfTaskInstanceStatus.size()) {
+				// Not within the SetData event, which may be part of a paint
+				getDisplay().asyncExec(() -> loadNextTaskPageIfNeeded());
+			}
 		}
 	}
 
@@ -703,46 +951,31 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 		startTaskButton.addSelectionListener(new SelectionAdapter() {
 			@Override
 			public void widgetSelected(final SelectionEvent ev) {
-				PleaseWaitDialog pleaseWaitDialog = null;
-				try {
-					pleaseWaitDialog = new PleaseWaitDialog(getShell(), Argonaut.APPLICATION_NAME);
-					pleaseWaitDialog.open();
-
-					if (currentTaskInstanceStatus == null) {
-						int taskID;
-						try {
-							final Map<String, String> parameters = new LinkedHashMap<>();
-							for (final Entry<String, Text> parameterTextFieldEntry : parametersTextFields.entrySet()) {
-								parameters.put(parameterTextFieldEntry.getKey(), parameterTextFieldEntry.getValue().getText());
-							}
-							taskID = argoWfSchedulerClient.createTask(currentWorkflowTemplateName, parameters, true);
-						} catch (final Exception e) {
-							showErrorMessage(LangResources.get("startTask"), "Cannot create new task: " + e.getMessage());
-							return;
-						}
-
-						try {
-							argoWfSchedulerClient.startTask(taskID);
-						} catch (final Exception e) {
-							showErrorMessage(LangResources.get("startTask"), "Cannot start newly created task: " + e.getMessage());
-						}
-
-						pleaseWaitDialog.hide();
-						pleaseWaitDialog = null;
-
-						showMessage(LangResources.get("startTask"), LangResources.get("startedTask", taskID));
-					} else {
-						currentTaskInstanceStatus = null;
+				if (currentTaskInstanceStatus == null) {
+					final Map<String, String> parameters = new LinkedHashMap<>();
+					for (final Entry<String, Text> parameterTextFieldEntry : parametersTextFields.entrySet()) {
+						parameters.put(parameterTextFieldEntry.getKey(), parameterTextFieldEntry.getValue().getText());
+					}
 
-						loadTaskParameters();
+					// Not cancellable, because a cancel between creation and start would leave a created but never started task
+					final BackgroundJob backgroundJob = startBackgroundJob(false);
+					backgroundJob.execute(new StartTaskWorker(backgroundJob, getOperationClient(), currentWorkflowTemplateName, parameters),
+						taskID -> {
+							showMessage(LangResources.get("startTask"), LangResources.get("startedTask", taskID));
+							loadNextTaskPageIfNeeded();
+						},
+						e -> {
+							showErrorMessage(LangResources.get("startTask"), e.getMessage());
+							loadNextTaskPageIfNeeded();
+						});
+				} else {
+					currentTaskInstanceStatus = null;
+					taskInstancesTable.deselectAll();
 
-						checkButtonStatus();
-					}
-				} finally {
-					if (pleaseWaitDialog != null) {
-						pleaseWaitDialog.hide();
-					}
+					fillParametersPart(currentWorkflowTemplateParameters, false);
 				}
+
+				checkButtonStatus();
 			}
 		});
 
@@ -843,6 +1076,17 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 	}
 
 	public void checkButtonStatus() {
+		// Selections which would cancel a running task start are not available until it is finished
+		final boolean startingTask = currentBackgroundJob != null && !currentBackgroundJob.isCancellable();
+
+		if (serverSelectioncombo != null) {
+			serverSelectioncombo.setEnabled(!startingTask);
+		}
+
+		if (cancelBackgroundJobButton != null) {
+			cancelBackgroundJobButton.setEnabled(!startingTask);
+		}
+
 		if (removeServerButton != null) {
 			removeServerButton.setEnabled(Utilities.isNotBlank(currentServerSelection));
 		}
@@ -852,7 +1096,7 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 		}
 
 		if (workflowTemplateCombo != null) {
-			workflowTemplateCombo.setEnabled(workflowTemplateCombo.getItems().length > 0);
+			workflowTemplateCombo.setEnabled(workflowTemplateCombo.getItems().length > 0 && !startingTask);
 		}
 
 		if (startTaskButton != null) {
@@ -861,7 +1105,7 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 			} else {
 				startTaskButton.setText(LangResources.get("prepareTask"));
 			}
-			startTaskButton.setEnabled(Utilities.isNotBlank(currentWorkflowTemplateName));
+			startTaskButton.setEnabled(Utilities.isNotBlank(currentWorkflowTemplateName) && currentBackgroundJob == null);
 		}
 
 		if (taskInstancesTable != null) {
@@ -873,16 +1117,177 @@ public class ArgonautDialog extends UpdateableGuiApplication {
 		}
 
 		if (reloadButton != null) {
-			reloadButton.setEnabled(Utilities.isNotEmpty(workflowTemplateCombo.getText()));
+			reloadButton.setEnabled(Utilities.isNotEmpty(workflowTemplateCombo.getText()) && !startingTask);
+		}
+
+		if (autoRefreshButton != null) {
+			autoRefreshButton.setEnabled(Utilities.isNotEmpty(workflowTemplateCombo.getText()));
 		}
 	}
 
 	@Override
 	public void close() {
+		cancelBackgroundJob();
+		stopAutoRefresh();
+		autoRefreshScheduler.shutdownNow();
 		applicationConfiguration.save();
 		dispose();
 	}
 
+	/**
+	 * Cancels the current background job and starts a new one.
+	 * Only one background job is active at a time, results of cancelled jobs are dropped.
+	 */
+	private BackgroundJob startBackgroundJob() {
+		return startBackgroundJob(true);
+	}
+
+	/**
+	 * @param cancellable Jobs which are not cancellable disable the selections and the cancel button, which would cancel them
+	 */
+	private BackgroundJob startBackgroundJob(final boolean cancellable) {
+		cancelBackgroundJob();
+
+		currentBackgroundJob = new BackgroundJob(getDisplay(), cancellable);
+		backgroundJobLabel.setText("");
+		backgroundJobProgressBar.setMaximum(1);
+		backgroundJobProgressBar.setSelection(0);
+		showBackgroundJobBox(true);
+		checkButtonStatus();
+		return currentBackgroundJob;
+	}
+
+	private void cancelBackgroundJob() {
+		if (currentBackgroundJob != null) {
+			currentBackgroundJob.abort();
+			currentBackgroundJob = null;
+			showBackgroundJobBox(false);
+		}
+	}
+
+	private void showBackgroundJobBox(final boolean visible) {
+		if (backgroundJobBox != null && !backgroundJobBox.isDisposed()) {
+			backgroundJobBox.setVisible(visible);
+			((GridData) backgroundJobBox.getLayoutData()).exclude = !visible;
+			backgroundJobBox.getParent().layout(true, true);
+		}
+	}
+
+	/**
+	 * Executes one worker in a background thread and shows its progress in the background job box.
+	 * All widget updates are marshalled into the UI thread and dropped, if the job is not the current one anymore.
+	 */
+	private class BackgroundJob implements WorkerParentSimple {
+		private final Display display;
+		private final boolean cancellable;
+		private volatile boolean cancelled = false;
+		private WorkerSimple<?> worker = null;
+		private Runnable cancelHandler = null;
+		private volatile String title = "";
+
+		public BackgroundJob(final Display display, final boolean cancellable) {
+			this.display = display;
+			this.cancellable = cancellable;
+		}
+
+		public boolean isCancellable() {
+			return cancellable;
+		}
+
+		/**
+		 * Handler executed in the UI thread, if the job is cancelled before its result was handled
+		 */
+		public void setCancelHandler(final Runnable cancelHandler) {
+			this.cancelHandler = cancelHandler;
+		}
+
+		public <T> void execute(final WorkerSimple<T> workerToExecute, final Consumer<T> resultHandler, final Consumer<Exception> errorHandler) {
+			worker = workerToExecute;
+			final Thread thread = new Thread(() -> {
+				workerToExecute.run();
+
+				try {
+					final T result = workerToExecute.get();
+					asyncExecIfCurrent(() -> {
+						finish();
+						resultHandler.accept(result);
+					});
+				} catch (final Exception e) {
+					final Exception error = e instanceof ExecutionException && e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+					asyncExecIfCurrent(() -> {
+						finish();
+						errorHandler.accept(error);
+					});
+				}
+			}, "BackgroundJob");
+			thread.setDaemon(true);
+			thread.start();
+		}
+
+		public void asyncExecIfCurrent(final Runnable runnable) {
+			if (!cancelled && !display.isDisposed()) {
+				display.asyncExec(() -> {
+					if (!cancelled && !isDisposed() && currentBackgroundJob == this) {
+						runnable.run();
+					}
+				});
+			}
+		}
+
+		private void finish() {
+			currentBackgroundJob = null;
+			showBackgroundJobBox(false);
+			checkButtonStatus();
+		}
+
+		private void abort() {
+			cancelled = true;
+			if (worker != null) {
+				worker.cancel(true);
+			}
+			if (cancelHandler != null) {
+				cancelHandler.run();
+			}
+		}
+
+		@Override
+		public void receiveUnlimitedProgressSignal() {
+			asyncExecIfCurrent(() -> {
+				backgroundJobLabel.setText(title);
+				backgroundJobProgressBar.setSelection(0);
+			});
+		}
+
+		@Override
+		public void receiveProgressSignal(final LocalDateTime start, final long itemsToDo, final long itemsDone, final String itemsUnitSign) {
+			asyncExecIfCurrent(() -> {
+				backgroundJobLabel.setText(title + " (" + itemsDone + " / " + itemsToDo + ")");
+				backgroundJobProgressBar.setMaximum((int) Math.max(1, itemsToDo));
+				backgroundJobProgressBar.setSelection((int) Math.min(itemsDone, Math.max(1, itemsToDo)));
+				backgroundJobBox.layout();
+			});
+		}
+
+		@Override
+		public void receiveDoneSignal(final LocalDateTime start, final LocalDateTime end, final long itemsDone, final String itemsUnitSign, final String resultText) {
+			// Results are handled by the handlers given to execute
+		}
+
+		@Override
+		public boolean cancel() {
+			return cancelled;
+		}
+
+		@Override
+		public void changeTitle(final String text) {
+			title = text;
+			asyncExecIfCurrent(() -> {
+				backgroundJobLabel.setText(text);
+				backgroundJobBox.layout();
+			});
+		}
+	}
+
 	private class ColumnSortListener implements Listener {
 		@Override
 		public void handleEvent(final Event event) {
@@ -0,0 +1,215 @@
+package de.soderer.argonaut.helper;
+
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import de.soderer.json.JsonNode;
+import de.soderer.json.JsonObject;
+import de.soderer.json.JsonReader;
+import de.soderer.network.HttpMethod;
+import de.soderer.utilities.JwtUtilities;
+
+/**
+ * Access token cache for one IdP client (idpUrl, realmID, clientID, clientSecret) and transport, shared by all ArgoWfSchedulerClient instances of that client.
+ * Clients with other proxy or TLS settings or another secret get their own manager, so a new client never changes the settings of the existing ones.
+ * Only one token request is executed at a time, all other callers wait for its result.
+ * Tokens are renewed in the background before they expire, as long as the client was used within the lifetime of the last token.
+ */
+public class AccessTokenManager {
+	/** Tokens with less remaining validity are not handed out anymore */
+	private static final Duration MINIMUM_REMAINING_VALIDITY = Duration.ofSeconds(10);
+
+	/** Share of the token lifetime after which the background refresh starts */
+	private static final double PROACTIVE_REFRESH_LIFETIME_SHARE = 0.75;
+
+	private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+	private static final Map<String, AccessTokenManager> MANAGERS = new ConcurrentHashMap<>();
+
+	private static final ScheduledExecutorService REFRESH_SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		final Thread thread = new Thread(runnable, "AccessTokenRefresh");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final String idpUrl;
+	private final String realmID;
+	private final String clientID;
+	private final String clientSecret;
+	private final PooledHttpTransport httpTransport;
+
+	private volatile AccessToken currentAccessToken = null;
+	private volatile long lastUsedMillis = 0;
+
+	private CompletableFuture<AccessToken> refreshInProgress = null;
+	private ScheduledFuture<?> scheduledRefresh = null;
+
+	public static AccessTokenManager getInstance(final PooledHttpTransport httpTransport, final String idpUrl, final String realmID, final String clientID, final String clientSecret) {
+		return MANAGERS.computeIfAbsent(idpUrl + "|" + realmID + "|" + clientID + "|" + getSecretHash(clientSecret) + "|" + httpTransport.getTransportKey(), key -> new AccessTokenManager(httpTransport, idpUrl, realmID, clientID, clientSecret));
+	}
+
+	/**
+	 * The managers are keyed by a SHA-256 hash of the client secret, so the plaintext secret is not kept in the static manager keys
+	 */
+	private static String getSecretHash(final String clientSecret) {
+		if (clientSecret == null) {
+			return null;
+		}
+		try {
+			final byte[] hash = MessageDigest.getInstance("SHA-256").digest(clientSecret.getBytes(StandardCharsets.UTF_8));
+			final StringBuilder hashHex = new StringBuilder(hash.length * 2);
+			for (final byte hashByte : hash) {
+				hashHex.append(String.format("%02x", hashByte));
+			}
+			return hashHex.toString();
+		} catch (final NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-256
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private AccessTokenManager(final PooledHttpTransport httpTransport, final String idpUrl, final String realmID, final String clientID, final String clientSecret) {
+		this.httpTransport = httpTransport;
+		this.idpUrl = idpUrl;
+		this.realmID = realmID;
+		this.clientID = clientID;
+		this.clientSecret = clientSecret;
+	}
+
+	public String getAccessToken() throws Exception {
+		lastUsedMillis = System.currentTimeMillis();
+
+		final AccessToken accessToken = currentAccessToken;
+		if (accessToken != null && accessToken.isValidFor(MINIMUM_REMAINING_VALIDITY)) {
+			return accessToken.getToken();
+		} else {
+			return ArgoWfSchedulerRequestExecutor.await(refresh()).getToken();
+		}
+	}
+
+	public synchronized void invalidate() {
+		currentAccessToken = null;
+		if (scheduledRefresh != null) {
+			scheduledRefresh.cancel(false);
+			scheduledRefresh = null;
+		}
+	}
+
+	/**
+	 * Single flight refresh: The first caller requests the new token, concurrent callers get the same future
+	 */
+	private CompletableFuture<AccessToken> refresh() {
+		final CompletableFuture<AccessToken> future;
+		synchronized (this) {
+			if (refreshInProgress != null) {
+				return refreshInProgress;
+			}
+			future = new CompletableFuture<>();
+			refreshInProgress = future;
+		}
+
+		try {
+			final AccessToken accessToken = requestAccessToken();
+			synchronized (this) {
+				currentAccessToken = accessToken;
+				scheduleRefresh(Duration.ofMillis((long) (Duration.between(ZonedDateTime.now(), accessToken.getValidUntil()).toMillis() * PROACTIVE_REFRESH_LIFETIME_SHARE)));
+			}
+			future.complete(accessToken);
+		} catch (final Exception e) {
+			future.completeExceptionally(e);
+		} finally {
+			synchronized (this) {
+				refreshInProgress = null;
+			}
+		}
+		return future;
+	}
+
+	private synchronized void scheduleRefresh(final Duration delay) {
+		if (scheduledRefresh != null) {
+			scheduledRefresh.cancel(false);
+		}
+		scheduledRefresh = REFRESH_SCHEDULER.schedule(this::refreshInBackground, Math.max(0, delay.toMillis()), TimeUnit.MILLISECONDS);
+	}
+
+	private void refreshInBackground() {
+		final AccessToken accessToken = currentAccessToken;
+		if (accessToken == null) {
+			return;
+		} else if (lastUsedMillis < accessToken.getReceivedMillis()) {
+			// Client was not used since the last refresh, so the next request will refresh on demand
+			return;
+		}
+
+		try {
+			ArgoWfSchedulerRequestExecutor.await(refresh());
+		} catch (@SuppressWarnings("unused") final Exception e) {
+			if (accessToken.isValidFor(MINIMUM_REMAINING_VALIDITY.plus(RETRY_DELAY))) {
+				scheduleRefresh(RETRY_DELAY);
+			}
+		}
+	}
+
+	private AccessToken requestAccessToken() throws Exception {
+		try {
+			final PooledHttpRequest request = new PooledHttpRequest(HttpMethod.POST, idpUrl + "/realms/" + realmID + "/protocol/openid-connect/token");
+			request.addPostParameter("grant_type", "client_credentials");
+			request.addPostParameter("client_id", clientID);
+			request.addPostParameter("client_secret", clientSecret);
+
+			final PooledHttpResponse response = httpTransport.execute(request);
+			if (response.getHttpCode() == 200) {
+				JsonNode contentJson;
+				try {
+					contentJson = JsonReader.readJsonItemString(response.getContent());
+				} catch (final Exception e) {
+					throw new Exception("Invalid AccessToken JSON data", e);
+				}
+				final String token = (String) ((JsonObject) contentJson).getSimpleValue("access_token");
+				return new AccessToken(token, JwtUtilities.getJwtTokenValidity(token));
+			} else {
+				throw new Exception("aquireAccessToken failed. Http Code: " + response.getHttpCode());
+			}
+		} catch (final UnknownHostException e) {
+			throw new Exception("UnknownHost '" + e.getMessage() + "'");
+		}
+	}
+
+	private static class AccessToken {
+		private final String token;
+		private final ZonedDateTime validUntil;
+		private final long receivedMillis = System.currentTimeMillis();
+
+		public AccessToken(final String token, final ZonedDateTime validUntil) {
+			this.token = token;
+			this.validUntil = validUntil;
+		}
+
+		public String getToken() {
+			return token;
+		}
+
+		public ZonedDateTime getValidUntil() {
+			return validUntil;
+		}
+
+		public long getReceivedMillis() {
+			return receivedMillis;
+		}
+
+		public boolean isValidFor(final Duration duration) {
+			return ZonedDateTime.now().plus(duration).isBefore(validUntil);
+		}
+	}
+}
@@ -1,15 +1,32 @@
 package de.soderer.argonaut.helper;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.net.URLEncoder;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
 import java.net.UnknownHostException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import javax.net.ssl.TrustManager;
 
@@ -18,50 +35,223 @@ import de.soderer.json.JsonNode;
 import de.soderer.json.JsonObject;
 import de.soderer.json.JsonReader;
 import de.soderer.network.HttpMethod;
-import de.soderer.network.HttpRequest;
-import de.soderer.network.HttpResponse;
-import de.soderer.network.HttpUtilities;
 import de.soderer.network.TrustManagerUtilities;
-import de.soderer.pac.utilities.ProxyConfiguration;
+import de.soderer.pac.utilities.ProxyConfiguration.ProxyConfigurationType;
 import de.soderer.utilities.DateUtilities;
-import de.soderer.utilities.JwtUtilities;
 
 public class ArgoWfSchedulerClient {
-	private final ProxyConfiguration proxyConfiguration;
+	/** Cron expression of tasks executed only once: 31.02.yyyy => repeat never */
+	public static final String CRON_EXPRESSION_RUN_NEVER = "0 0 0 31 2 *";
+
+	/** Maximum attempts of a retryable request, including the first one */
+	public static final int DEFAULT_MAXIMUM_REQUEST_ATTEMPTS = 3;
+
+	private static final Duration RETRY_INITIAL_DELAY = Duration.ofMillis(500);
+	private static final Duration RETRY_MAXIMUM_DELAY = Duration.ofSeconds(8);
+
+	/** Page size of the search requests of delta polls, which stop at the first page reaching the unchanged tasks */
+	private static final int DELTA_SEARCH_PAGE_SIZE = 100;
 
-	private final String idpUrl;
-	private final String realmID;
-	private final String clientID;
-	private final String clientSecret;
 	private final String argoWfSchedulerBaseUrl;
 
-	private TrustManager trustManager = null;
+	private final PooledHttpTransport httpTransport;
+
+	private final ArgoWfSchedulerRequestExecutor requestExecutor;
+
+	private final AccessTokenManager accessTokenManager;
+	private final InFlightRequestCoalescer requestCoalescer;
+	private final WorkflowTemplateCache workflowTemplateCache;
+	private TaskInstanceCache taskInstanceCache = null;
+	private final ServerCircuitBreaker circuitBreaker;
+	private int maximumRequestAttempts = DEFAULT_MAXIMUM_REQUEST_ATTEMPTS;
+	private final RequestLatencyTracker latencyTracker;
+	private boolean hedging = false;
 
-	private String accesToken = null;
-	private ZonedDateTime accessTokenValidUntil = null;
+	/** Deadline of all operations of this client in epoch milliseconds, null for no deadline */
+	private final Long deadlineMillis;
 
-	public ArgoWfSchedulerClient(final ProxyConfiguration proxyConfiguration, final boolean tlsServerCertificateCheck, final String idpUrl, final String realmID, final String clientID, final String clientSecret, final String argoWfSchedulerBaseUrl) throws Exception {
-		this.proxyConfiguration = proxyConfiguration;
-		this.idpUrl = idpUrl;
-		this.realmID = realmID;
-		this.clientID = clientID;
-		this.clientSecret = clientSecret;
+	public ArgoWfSchedulerClient(final ProxyConfigurationType proxyConfigurationType, final String proxyUrl, final boolean tlsServerCertificateCheck, final String idpUrl, final String realmID, final String clientID, final String clientSecret, final String argoWfSchedulerBaseUrl) throws Exception {
 		this.argoWfSchedulerBaseUrl = argoWfSchedulerBaseUrl;
 
+		TrustManager trustManager = null;
 		if (!tlsServerCertificateCheck) {
 			trustManager = TrustManagerUtilities.createTrustAllTrustManager();
 		}
+
+		httpTransport = PooledHttpTransport.getInstance(proxyConfigurationType, proxyUrl, trustManager);
+		accessTokenManager = AccessTokenManager.getInstance(httpTransport, idpUrl, realmID, clientID, clientSecret);
+		requestCoalescer = InFlightRequestCoalescer.getInstance(idpUrl + "|" + realmID + "|" + clientID + "|" + argoWfSchedulerBaseUrl);
+		workflowTemplateCache = WorkflowTemplateCache.getInstance(idpUrl + "|" + realmID + "|" + clientID + "|" + argoWfSchedulerBaseUrl);
+
+		requestExecutor = ArgoWfSchedulerRequestExecutor.getInstance(argoWfSchedulerBaseUrl);
+		circuitBreaker = ServerCircuitBreaker.getInstance(argoWfSchedulerBaseUrl);
+		latencyTracker = RequestLatencyTracker.getInstance(argoWfSchedulerBaseUrl);
+		deadlineMillis = null;
+	}
+
+	private ArgoWfSchedulerClient(final ArgoWfSchedulerClient client, final long deadlineMillis) {
+		argoWfSchedulerBaseUrl = client.argoWfSchedulerBaseUrl;
+		httpTransport = client.httpTransport;
+		requestExecutor = client.requestExecutor;
+		accessTokenManager = client.accessTokenManager;
+		requestCoalescer = client.requestCoalescer;
+		workflowTemplateCache = client.workflowTemplateCache;
+		taskInstanceCache = client.taskInstanceCache;
+		circuitBreaker = client.circuitBreaker;
+		maximumRequestAttempts = client.maximumRequestAttempts;
+		latencyTracker = client.latencyTracker;
+		hedging = client.hedging;
+		this.deadlineMillis = deadlineMillis;
+	}
+
+	/**
+	 * Returns a client for the same server, whose operations fail when the timeout from now is exceeded.
+	 * All requests of an operation, including retries and parallel detail requests, share this deadline and get the remaining time as request timeout.
+	 */
+	public ArgoWfSchedulerClient withDeadline(final Duration timeout) {
+		long newDeadlineMillis = System.currentTimeMillis() + timeout.toMillis();
+		if (deadlineMillis != null) {
+			newDeadlineMillis = Math.min(deadlineMillis, newDeadlineMillis);
+		}
+		return new ArgoWfSchedulerClient(this, newDeadlineMillis);
+	}
+
+	/**
+	 * Remaining time until the deadline of this client, null for clients without deadline
+	 */
+	public Duration getRemainingTime() {
+		if (deadlineMillis == null) {
+			return null;
+		} else {
+			return Duration.ofMillis(deadlineMillis - System.currentTimeMillis());
+		}
+	}
+
+	/**
+	 * Hedged requests: Idempotent GET requests are duplicated, if they are not answered within the 95th percentile latency of the server.
+	 * This cuts the tail latency of operations with many requests at the cost of a few additional requests.
+	 */
+	public ArgoWfSchedulerClient setHedging(final boolean hedging) {
+		this.hedging = hedging;
+		return this;
+	}
+
+	public boolean isHedging() {
+		return hedging;
+	}
+
+	public RequestLatencyTracker getLatencyTracker() {
+		return latencyTracker;
+	}
+
+	/**
+	 * Maximum number of requests executed in parallel on the ArgoWfScheduler server by all clients of this server
+	 */
+	public ArgoWfSchedulerClient setMaximumParallelRequests(final int maximumParallelRequests) {
+		ArgoWfSchedulerRequestExecutor.getInstance(argoWfSchedulerBaseUrl, maximumParallelRequests);
+		return this;
+	}
+
+	public int getMaximumParallelRequests() {
+		return requestExecutor.getMaximumParallelRequests();
+	}
+
+	/**
+	 * Timeout of requests without deadline, shared by all clients of the same transport
+	 */
+	public ArgoWfSchedulerClient setReadTimeout(final Duration readTimeout) {
+		httpTransport.setReadTimeout(readTimeout);
+		return this;
+	}
+
+	/**
+	 * Maximum attempts of GET requests and of createTask on connection errors, timeouts and HTTP codes 429, 502, 503 and 504.
+	 * Other requests are not retried, because they are not idempotent.
+	 */
+	public ArgoWfSchedulerClient setMaximumRequestAttempts(final int maximumRequestAttempts) {
+		this.maximumRequestAttempts = Math.max(1, maximumRequestAttempts);
+		return this;
+	}
+
+	public int getMaximumRequestAttempts() {
+		return maximumRequestAttempts;
+	}
+
+	public ServerCircuitBreaker getCircuitBreaker() {
+		return circuitBreaker;
+	}
+
+	public PooledHttpTransport getHttpTransport() {
+		return httpTransport;
+	}
+
+	/**
+	 * Cache of finished tasks, which saves the detail requests of tasks that were not updated since they were cached
+	 */
+	public ArgoWfSchedulerClient setTaskInstanceCache(final TaskInstanceCache taskInstanceCache) {
+		this.taskInstanceCache = taskInstanceCache;
+		return this;
+	}
+
+	public TaskInstanceCache getTaskInstanceCache() {
+		return taskInstanceCache;
+	}
+
+	/**
+	 * Duration the workflow names and template parameters of this server are used without asking the server again
+	 */
+	public ArgoWfSchedulerClient setWorkflowTemplateCacheTimeToLive(final Duration timeToLive) {
+		workflowTemplateCache.setTimeToLive(timeToLive);
+		return this;
+	}
+
+	public WorkflowTemplateCache getWorkflowTemplateCache() {
+		return workflowTemplateCache;
+	}
+
+	/**
+	 * Forces the next requests for workflow names and template parameters of this server to load them again
+	 */
+	public void invalidateWorkflowTemplateCache() {
+		workflowTemplateCache.invalidate();
+	}
+
+	/**
+	 * Number of GET requests answered by an identical request already in flight for this server and client
+	 */
+	public long getCoalescedRequests() {
+		return requestCoalescer.getCoalescedRequests();
+	}
+
+	/**
+	 * Number of coalescable GET requests really sent to the server for this server and client
+	 */
+	public long getExecutedCoalescableRequests() {
+		return requestCoalescer.getExecutedRequests();
 	}
 
 	public List<String> getWorkflowNames() throws Exception {
+		final String url = argoWfSchedulerBaseUrl + "/workflow/names";
+		return new ArrayList<>(getWithWorkflowTemplateCache(url, cachedResponse -> requestWorkflowNames(url, cachedResponse)));
+	}
+
+	private List<String> requestWorkflowNames(final String url, final WorkflowTemplateCache.CachedResponse cachedResponse) throws Exception {
 		try {
 			final String accessToken = aquireAccessTokenByClientId();
 
-			final HttpRequest request = new HttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/workflow/names");
+			final PooledHttpRequest request = new PooledHttpRequest(HttpMethod.GET, url);
 			request.addHeader("Authorization", "Bearer " + accessToken);
+			if (cachedResponse != null) {
+				cachedResponse.addConditionalHeaders(request);
+			}
 
-			final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
-			if (response.getHttpCode() == 200) {
+			final PooledHttpResponse response = executeWithRetry(request, this::executeHedged);
+			if (response.getHttpCode() == 304 && cachedResponse != null) {
+				workflowTemplateCache.revalidated(cachedResponse);
+				@SuppressWarnings("unchecked")
+				final List<String> cachedWorkflowNames = (List<String>) cachedResponse.getValue();
+				return cachedWorkflowNames;
+			} else if (response.getHttpCode() == 200) {
 				if (response.getHeaders().containsKey("Content-Type") && !"application/json".equals(response.getHeaders().get("Content-Type"))) {
 					throw new Exception("Invalid WorkflowNames data type: " + response.getHeaders().get("Content-Type"));
 				}
@@ -77,6 +267,7 @@ public class ArgoWfSchedulerClient {
 				for (final Object workflowNameObject : workflowNamesArray) {
 					returnList.add((String) workflowNameObject);
 				}
+				workflowTemplateCache.put(url, returnList, response);
 				return returnList;
 			} else {
 				throw new Exception("getWorkflowNames failed. Http Code: " + response.getHttpCode());
@@ -87,15 +278,28 @@ public class ArgoWfSchedulerClient {
 	}
 
 	public Map<String, String> getWorkflowTemplateParameters(final String workflowName) throws Exception {
+		final String url = argoWfSchedulerBaseUrl + "/workflow/" + URLEncoder.encode(workflowName, StandardCharsets.UTF_8) + "/parameter";
+		return new LinkedHashMap<>(getWithWorkflowTemplateCache(url, cachedResponse -> requestWorkflowTemplateParameters(url, cachedResponse)));
+	}
+
+	private Map<String, String> requestWorkflowTemplateParameters(final String url, final WorkflowTemplateCache.CachedResponse cachedResponse) throws Exception {
 		try {
 			final String accessToken = aquireAccessTokenByClientId();
 
-			final HttpRequest request = new HttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/workflow/" + URLEncoder.encode(workflowName, StandardCharsets.UTF_8) + "/parameter");
+			final PooledHttpRequest request = new PooledHttpRequest(HttpMethod.GET, url);
 			request.addHeader("Authorization", "Bearer " + accessToken);
 			request.addHeader("accept", "application/json");
+			if (cachedResponse != null) {
+				cachedResponse.addConditionalHeaders(request);
+			}
 
-			final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
-			if (response.getHttpCode() == 200) {
+			final PooledHttpResponse response = executeWithRetry(request, this::executeHedged);
+			if (response.getHttpCode() == 304 && cachedResponse != null) {
+				workflowTemplateCache.revalidated(cachedResponse);
+				@SuppressWarnings("unchecked")
+				final Map<String, String> cachedWorkflowParameters = (Map<String, String>) cachedResponse.getValue();
+				return cachedWorkflowParameters;
+			} else if (response.getHttpCode() == 200) {
 				JsonNode contentJson;
 				try {
 					contentJson = JsonReader.readJsonItemString(response.getContent());
@@ -108,6 +312,7 @@ public class ArgoWfSchedulerClient {
 				for (final Entry<String, Object> workflowParameterEntry : workflowParameters.simpleEntrySet()) {
 					returnMap.put(workflowParameterEntry.getKey(), (String) workflowParameterEntry.getValue());
 				}
+				workflowTemplateCache.put(url, returnMap, response);
 				return returnMap;
 			} else {
 				throw new Exception("getWorkflowTemplateParameters failed. Http Code: " + response.getHttpCode());
@@ -117,19 +322,45 @@ public class ArgoWfSchedulerClient {
 		}
 	}
 
+	/**
+	 * Returns the cached value of a fresh response or executes the (conditional) request, coalesced with identical requests in flight
+	 */
+	private <T> T getWithWorkflowTemplateCache(final String url, final ConditionalRequest<T> conditionalRequest) throws Exception {
+		final WorkflowTemplateCache.CachedResponse cachedResponse = workflowTemplateCache.get(url);
+		if (workflowTemplateCache.isFresh(cachedResponse)) {
+			@SuppressWarnings("unchecked")
+			final T cachedValue = (T) cachedResponse.getValue();
+			return cachedValue;
+		} else {
+			return requestCoalescer.execute(HttpMethod.GET.name(), url, () -> conditionalRequest.execute(cachedResponse), getRemainingTime());
+		}
+	}
+
+	private interface ConditionalRequest<T> {
+		T execute(WorkflowTemplateCache.CachedResponse cachedResponse) throws Exception;
+	}
+
+	/**
+	 * Creates a new task named "Task_<workflowName>_<creation time>_<8 random hex digits>".
+	 * The random suffix distinguishes tasks created in the same second, so a task created by a failed attempt is found again before a retry instead of being created twice.
+	 */
 	public int createTask(final String workflowName, final Map<String, String> taskParameters, final boolean executeOnlyOnce) throws Exception {
 		try {
 			final String accessToken = aquireAccessTokenByClientId();
 
-			final HttpRequest request = new HttpRequest(HttpMethod.POST, argoWfSchedulerBaseUrl + "/tasks");
+			final PooledHttpRequest request = new PooledHttpRequest(HttpMethod.POST, argoWfSchedulerBaseUrl + "/tasks");
 			request.addHeader("Authorization", "Bearer " + accessToken);
 			request.addHeader("accept", "application/json");
 			request.addHeader("Content-Type", "application/json");
 
+			// Unique task name, which identifies the task created by a failed attempt before a retry
+			final ZonedDateTime creationStart = ZonedDateTime.now();
+			final String taskName = "Task_" + workflowName + "_" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT_NO_TIMEZONE, creationStart) + "_" + UUID.randomUUID().toString().substring(0, 8);
+
 			final JsonObject requestBodyJsonObject = new JsonObject();
-			requestBodyJsonObject.add("name", "Task_" + workflowName + "_" + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT_NO_TIMEZONE, ZonedDateTime.now()));
+			requestBodyJsonObject.add("name", taskName);
 			if (executeOnlyOnce) {
-				requestBodyJsonObject.add("cronExpression", "0 0 0 31 2 *"); // 31.02.yyyy => repeat never
+				requestBodyJsonObject.add("cronExpression", CRON_EXPRESSION_RUN_NEVER);
 			} else {
 				requestBodyJsonObject.add("cronExpression", "0 0 0 * * *");
 			}
@@ -148,7 +379,32 @@ public class ArgoWfSchedulerClient {
 
 			request.setRequestBody(requestBodyJsonObject.toString());
 
-			final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
+			PooledHttpResponse response;
+			for (int attempt = 1;; attempt++) {
+				try {
+					response = executeOnce(request, httpTransport::execute);
+					final long retryDelayMillis = getRetryDelayMillis(attempt, response);
+					if (!isRetryable(response.getHttpCode()) || !isRetryPossible(attempt, retryDelayMillis)) {
+						break;
+					}
+					Thread.sleep(retryDelayMillis);
+				} catch (final UnknownHostException e) {
+					throw e;
+				} catch (final IOException e) {
+					final long retryDelayMillis = getRetryDelayMillis(attempt, null);
+					if (!isRetryPossible(attempt, retryDelayMillis)) {
+						throw e;
+					}
+					Thread.sleep(retryDelayMillis);
+				}
+
+				// Idempotency guard: The failed attempt may have created the task anyway
+				final Integer createdTaskID = findTaskID(workflowName, taskName, creationStart.minusMinutes(5));
+				if (createdTaskID != null) {
+					return createdTaskID;
+				}
+			}
+
 			if (response.getHttpCode() == 201) {
 				JsonNode contentJson;
 				try {
@@ -167,76 +423,93 @@ public class ArgoWfSchedulerClient {
 		}
 	}
 
-	public JsonArray getAllTasks() throws Exception {
-		try {
-			final String accessToken = aquireAccessTokenByClientId();
+	private Integer findTaskID(final String workflowName, final String taskName, final ZonedDateTime createdAfter) throws Exception {
+		final List<Integer> foundTaskIDs = new ArrayList<>();
+		searchTasks("createTask", new TaskSearchQuery().setWorkflowTemplateName(workflowName).setCreatedAfter(createdAfter), taskStatus -> {
+			if (taskName.equals(taskStatus.getTaskName())) {
+				foundTaskIDs.add(taskStatus.getTaskID());
+			}
+		});
+		return foundTaskIDs.isEmpty() ? null : foundTaskIDs.get(0);
+	}
 
-			final HttpRequest request = new HttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/tasks/search");
-			request.addHeader("Authorization", "Bearer " + accessToken);
-			request.addHeader("accept", "application/json");
+	/**
+	 * Streams all tasks of the scheduler to the consumer without keeping the whole search result in memory
+	 */
+	public void getAllTasks(final Consumer<TaskStatus> taskStatusConsumer) throws Exception {
+		searchTasks("getAllTasks", new TaskSearchQuery(), taskStatusConsumer);
+	}
 
-			final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
-			if (response.getHttpCode() == 200) {
-				JsonNode contentJson;
-				try {
-					contentJson = JsonReader.readJsonItemString(response.getContent());
-				} catch (final Exception e) {
-					throw new Exception("Invalid Tasks JSON data", e);
-				}
+	/**
+	 * Streams the tasks matching the query to the consumer and returns the number of tasks received
+	 */
+	public int getAllTasks(final TaskSearchQuery query, final Consumer<TaskStatus> taskStatusConsumer) throws Exception {
+		return searchTasks("getAllTasks", query, taskStatusConsumer);
+	}
 
-				final JsonArray jsonArray = ((JsonArray) contentJson);
-				return jsonArray;
-			} else {
-				throw new Exception("getAllTasks failed. Http Code: " + response.getHttpCode());
-			}
-		} catch (final UnknownHostException e) {
-			throw new Exception("UnknownHost '" + e.getMessage() + "'");
-		}
+	/**
+	 * Iterates the tasks matching the query page by page, each page is requested on demand
+	 */
+	public TaskSearchPager getTaskSearchPager(final TaskSearchQuery query) {
+		return new TaskSearchPager(this, query);
 	}
 
-	public Map<String, String> getTaskParameters(final int taskID) throws Exception {
+	/**
+	 * Executes a /tasks/search request and reads its result from the response stream.
+	 * Each task is handed over to the consumer as soon as it is read.
+	 */
+	private int searchTasks(final String operationName, final TaskSearchQuery query, final Consumer<TaskStatus> taskStatusConsumer) throws Exception {
 		try {
 			final String accessToken = aquireAccessTokenByClientId();
 
-			final HttpRequest request = new HttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/tasks/" + taskID);
+			final PooledHttpRequest request = new PooledHttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/tasks/search");
 			request.addHeader("Authorization", "Bearer " + accessToken);
 			request.addHeader("accept", "application/json");
+			query.addUrlParameters(request);
 
-			final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
-			if (response.getHttpCode() == 200) {
-				JsonNode contentJson;
-				try {
-					contentJson = JsonReader.readJsonItemString(response.getContent());
-				} catch (final Exception e) {
-					throw new Exception("Invalid Task JSON data", e);
-				}
-
-				final JsonObject jsonObject = ((JsonObject) contentJson);
-				final JsonArray taskParameters = (JsonArray) jsonObject.get("parameters");
-
-				final Map<String, String> returnMap = new LinkedHashMap<>();
-				for (final Object taskParameterObject : taskParameters) {
-					final JsonObject taskParameterJsonObject = (JsonObject) taskParameterObject;
-					returnMap.put((String) taskParameterJsonObject.getSimpleValue("name"), (String) taskParameterJsonObject.getSimpleValue("value"));
+			try (PooledHttpStreamResponse response = executeWithRetry(request, httpTransport::executeStreamed)) {
+				if (response.getHttpCode() == 200) {
+					try (TaskSearchResultReader reader = new TaskSearchResultReader(response.getContentStream(), response.getEncoding())) {
+						int receivedTaskCount = 0;
+						TaskStatus taskStatus;
+						while ((taskStatus = reader.readNextTaskStatus()) != null) {
+							taskStatusConsumer.accept(taskStatus);
+							receivedTaskCount++;
+						}
+						return receivedTaskCount;
+					}
+				} else {
+					throw new Exception(operationName + " failed. Http Code: " + response.getHttpCode());
 				}
-				return returnMap;
-			} else {
-				throw new Exception("getTaskStatus failed. Http Code: " + response.getHttpCode());
 			}
 		} catch (final UnknownHostException e) {
 			throw new Exception("UnknownHost '" + e.getMessage() + "'");
 		}
 	}
 
+	public Map<String, String> getTaskParameters(final int taskID) throws Exception {
+		final JsonArray taskParameters = (JsonArray) getTaskJsonObject(taskID).get("parameters");
+
+		final Map<String, String> returnMap = new LinkedHashMap<>();
+		for (final Object taskParameterObject : taskParameters) {
+			final JsonObject taskParameterJsonObject = (JsonObject) taskParameterObject;
+			returnMap.put((String) taskParameterJsonObject.getSimpleValue("name"), (String) taskParameterJsonObject.getSimpleValue("value"));
+		}
+		return returnMap;
+	}
+
+	/**
+	 * Not coalesced like the other GET requests, because each call starts a new task instance
+	 */
 	public void startTask(final int taskID) throws Exception {
 		try {
 			final String accessToken = aquireAccessTokenByClientId();
 
-			final HttpRequest request = new HttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/tasks/" + taskID + "/run");
+			final PooledHttpRequest request = new PooledHttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/tasks/" + taskID + "/run");
 			request.addHeader("Authorization", "Bearer " + accessToken);
 			request.addHeader("accept", "application/json");
 
-			final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
+			final PooledHttpResponse response = executeOnce(request, httpTransport::execute);
 			if (response.getHttpCode() != 200) {
 				throw new Exception("startTask failed. Http Code: " + response.getHttpCode());
 			}
@@ -249,11 +522,11 @@ public class ArgoWfSchedulerClient {
 		try {
 			final String accessToken = aquireAccessTokenByClientId();
 
-			final HttpRequest request = new HttpRequest(HttpMethod.DELETE, argoWfSchedulerBaseUrl + "/tasks/" + taskID);
+			final PooledHttpRequest request = new PooledHttpRequest(HttpMethod.DELETE, argoWfSchedulerBaseUrl + "/tasks/" + taskID);
 			request.addHeader("Authorization", "Bearer " + accessToken);
 			request.addHeader("accept", "application/json");
 
-			final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
+			final PooledHttpResponse response = executeOnce(request, httpTransport::execute);
 			if (response.getHttpCode() == 204) {
 				return true;
 			} else {
@@ -265,78 +538,437 @@ public class ArgoWfSchedulerClient {
 	}
 
 	private String aquireAccessTokenByClientId() throws Exception {
+		return accessTokenManager.getAccessToken();
+	}
+
+	/**
+	 * Executes an idempotent request and retries it with exponential backoff and jitter on connection errors, timeouts and retryable HTTP codes
+	 */
+	private <R extends PooledHttpResponse> R executeWithRetry(final PooledHttpRequest request, final RequestExecution<R> requestExecution) throws Exception {
+		for (int attempt = 1;; attempt++) {
+			try {
+				final R response = executeOnce(request, requestExecution);
+				final long retryDelayMillis = getRetryDelayMillis(attempt, response);
+				if (!isRetryable(response.getHttpCode()) || !isRetryPossible(attempt, retryDelayMillis)) {
+					return response;
+				}
+				if (response instanceof Closeable) {
+					((Closeable) response).close();
+				}
+				Thread.sleep(retryDelayMillis);
+			} catch (final UnknownHostException e) {
+				throw e;
+			} catch (final IOException e) {
+				final long retryDelayMillis = getRetryDelayMillis(attempt, null);
+				if (!isRetryPossible(attempt, retryDelayMillis)) {
+					throw e;
+				}
+				Thread.sleep(retryDelayMillis);
+			}
+		}
+	}
+
+	/**
+	 * Executes a request once, unless the circuit breaker of the server is open.
+	 * The timeout of the request is the time remaining until the deadline of this client.
+	 */
+	private <R extends PooledHttpResponse> R executeOnce(final PooledHttpRequest request, final RequestExecution<R> requestExecution) throws Exception {
+		final Duration remainingTime = getRemainingTime();
+		if (remainingTime != null) {
+			if (remainingTime.isZero() || remainingTime.isNegative()) {
+				throw new DeadlineExceededException("Deadline exceeded before request: " + request.getHttpMethod().name() + " " + request.getUrl());
+			}
+			request.setTimeout(remainingTime);
+		}
+
+		circuitBreaker.checkAvailable();
+
+		boolean recorded = false;
 		try {
-			if (accesToken == null || ZonedDateTime.now().isAfter(accessTokenValidUntil.minusSeconds(10))) {
-				final HttpRequest request = new HttpRequest(HttpMethod.POST, idpUrl + "/realms/" + realmID + "/protocol/openid-connect/token");
-				request.addPostParameter("grant_type", "client_credentials");
-				request.addPostParameter("client_id", clientID);
-				request.addPostParameter("client_secret", clientSecret);
+			final R response;
+			try {
+				response = requestExecution.execute(request);
+			} catch (final HttpTimeoutException e) {
+				if (remainingTime != null && !(e instanceof HttpConnectTimeoutException)) {
+					// The request timeout is the deadline of this client, so the request was cut off by the deadline and not by a failing server
+					throw new DeadlineExceededException("Deadline exceeded during request: " + request.getHttpMethod().name() + " " + request.getUrl());
+				}
+				circuitBreaker.recordFailure();
+				recorded = true;
+				throw e;
+			} catch (final IOException e) {
+				circuitBreaker.recordFailure();
+				recorded = true;
+				throw e;
+			}
 
-				final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
-				if (response.getHttpCode() == 200) {
-					JsonNode contentJson;
-					try {
-						contentJson = JsonReader.readJsonItemString(response.getContent());
-					} catch (final Exception e) {
-						throw new Exception("Invalid AccessToken JSON data", e);
-					}
-					accesToken = (String) ((JsonObject) contentJson).getSimpleValue("access_token");
-					accessTokenValidUntil = JwtUtilities.getJwtTokenValidity(accesToken);
+			if (isServerFailure(response.getHttpCode())) {
+				circuitBreaker.recordFailure();
+			} else {
+				circuitBreaker.recordSuccess();
+			}
+			recorded = true;
+			return response;
+		} finally {
+			if (!recorded) {
+				// Interrupted or otherwise failed without any statement about the server, so a trial request must not block the breaker
+				circuitBreaker.releaseTrial();
+			}
+		}
+	}
+
+	private static boolean isServerFailure(final int httpCode) {
+		return httpCode == 502 || httpCode == 503 || httpCode == 504;
+	}
+
+	private static boolean isRetryable(final int httpCode) {
+		return httpCode == 429 || isServerFailure(httpCode);
+	}
+
+	/**
+	 * A retry needs another attempt and, for clients with a deadline, enough remaining time to wait the retry delay first
+	 */
+	private boolean isRetryPossible(final int attempt, final long retryDelayMillis) {
+		return attempt < maximumRequestAttempts && (deadlineMillis == null || System.currentTimeMillis() + retryDelayMillis < deadlineMillis);
+	}
+
+	/**
+	 * Random delay between half and full of the exponentially growing backoff delay, but at least the seconds of a "Retry-After" header
+	 */
+	private static long getRetryDelayMillis(final int attempt, final PooledHttpResponse response) {
+		final long backoffMillis = Math.min(RETRY_MAXIMUM_DELAY.toMillis(), RETRY_INITIAL_DELAY.toMillis() << Math.min(attempt - 1, 20));
+		long delayMillis = ThreadLocalRandom.current().nextLong(backoffMillis / 2, backoffMillis + 1);
+		if (response != null && response.getHeaders().get("Retry-After") != null) {
+			try {
+				delayMillis = Math.max(delayMillis, Math.min(RETRY_MAXIMUM_DELAY.toMillis(), Long.parseLong(response.getHeaders().get("Retry-After").trim()) * 1000));
+			} catch (@SuppressWarnings("unused") final NumberFormatException e) {
+				// Retry-After as HTTP date is not supported, the backoff delay is used
+			}
+		}
+		return delayMillis;
+	}
+
+	/**
+	 * Executes an idempotent buffered request and, if hedging is active, sends a duplicate request when there is no response within the 95th percentile latency.
+	 * The first definitive response (not 5xx or 429) is used. Without any definitive response the response of the original request is returned for the retry decision.
+	 * Both requests wait for their responses without holding a thread of the request executor, so hedging never waits for queued requests of the same server.
+	 */
+	private PooledHttpResponse executeHedged(final PooledHttpRequest request) throws Exception {
+		final Duration hedgeDelay = hedging ? latencyTracker.getHedgeDelay() : null;
+		if (hedgeDelay == null) {
+			return executeMeasured(request);
+		}
+
+		final CompletableFuture<PooledHttpResponse> originalFuture = executeMeasuredAsync(request);
+		try {
+			return ArgoWfSchedulerRequestExecutor.await(originalFuture, hedgeDelay);
+		} catch (@SuppressWarnings("unused") final TimeoutException e) {
+			// Original request is slower than usual, so a duplicate is sent
+		}
+
+		final Duration remainingTime = getRemainingTime();
+		if (remainingTime != null && remainingTime.compareTo(hedgeDelay) < 0) {
+			// Not enough time left for a duplicate to win
+			return awaitWithinDeadline(originalFuture, request);
+		}
+
+		try {
+			circuitBreaker.checkAvailable();
+		} catch (@SuppressWarnings("unused") final Exception e) {
+			// No duplicate while the server is regarded as unavailable or a trial request is running
+			return awaitWithinDeadline(originalFuture, request);
+		}
+
+		latencyTracker.increaseHedgedRequests();
+		if (remainingTime != null) {
+			request.setTimeout(remainingTime);
+		}
+		final CompletableFuture<PooledHttpResponse> hedgedFuture = executeMeasuredAsync(request).whenComplete((response, error) -> recordHedgedRequestOutcome(response, error, remainingTime != null));
+
+		final CompletableFuture<PooledHttpResponse> firstResponseFuture = new CompletableFuture<>();
+		originalFuture.thenAccept(response -> {
+			if (isDefinitive(response.getHttpCode())) {
+				firstResponseFuture.complete(response);
+			}
+		});
+		hedgedFuture.thenAccept(response -> {
+			if (isDefinitive(response.getHttpCode()) && firstResponseFuture.complete(response)) {
+				latencyTracker.increaseHedgedRequestWins();
+			}
+		});
+		CompletableFuture.allOf(originalFuture.handle((response, error) -> null), hedgedFuture.handle((response, error) -> null)).thenRun(() -> {
+			if (!firstResponseFuture.isDone()) {
+				// No definitive response: The original response is reported, the hedged one only if the original request failed
+				if (!originalFuture.isCompletedExceptionally()) {
+					firstResponseFuture.complete(originalFuture.join());
+				} else if (!hedgedFuture.isCompletedExceptionally()) {
+					firstResponseFuture.complete(hedgedFuture.join());
 				} else {
-					accesToken = null;
-					accessTokenValidUntil = null;
-					throw new Exception("aquireAccessToken failed. Http Code: " + response.getHttpCode());
+					originalFuture.whenComplete((response, error) -> firstResponseFuture.completeExceptionally(error));
 				}
 			}
+		});
+		return awaitWithinDeadline(firstResponseFuture, request);
+	}
 
-			return accesToken;
-		} catch (final UnknownHostException e) {
-			throw new Exception("UnknownHost '" + e.getMessage() + "'");
+	private static boolean isDefinitive(final int httpCode) {
+		return httpCode < 500 && httpCode != 429;
+	}
+
+	/**
+	 * The original request of a hedge is recorded in the circuit breaker by executeOnce, the hedged request is recorded here
+	 */
+	private void recordHedgedRequestOutcome(final PooledHttpResponse response, final Throwable error, final boolean limitedByDeadline) {
+		final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		if (response != null) {
+			if (isServerFailure(response.getHttpCode())) {
+				circuitBreaker.recordFailure();
+			} else {
+				circuitBreaker.recordSuccess();
+			}
+		} else if (cause instanceof IOException && !(limitedByDeadline && cause instanceof HttpTimeoutException && !(cause instanceof HttpConnectTimeoutException))) {
+			circuitBreaker.recordFailure();
+		} else {
+			circuitBreaker.releaseTrial();
 		}
 	}
 
-	public List<Integer> getWorkflowTemplateTaskIds(final String workflowTemplateName) throws Exception {
+	/**
+	 * Waits for the future until the deadline of this client, without limit for clients without deadline
+	 */
+	private <T> T awaitWithinDeadline(final CompletableFuture<T> future, final PooledHttpRequest request) throws Exception {
 		try {
-			final String accessToken = aquireAccessTokenByClientId();
+			return ArgoWfSchedulerRequestExecutor.await(future, getRemainingTime());
+		} catch (@SuppressWarnings("unused") final TimeoutException e) {
+			throw new DeadlineExceededException("Deadline exceeded during request: " + request.getHttpMethod().name() + " " + request.getUrl());
+		}
+	}
 
-			final HttpRequest request = new HttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/tasks/search");
-			request.addHeader("Authorization", "Bearer " + accessToken);
-			request.addHeader("accept", "application/json");
-			request.addUrlParameter("name", workflowTemplateName);
+	private CompletableFuture<PooledHttpResponse> executeMeasuredAsync(final PooledHttpRequest request) {
+		final long startNanos = System.nanoTime();
+		return httpTransport.executeAsync(request).thenApply(response -> {
+			if (response.getHttpCode() < 500) {
+				latencyTracker.addLatency(Duration.ofNanos(System.nanoTime() - startNanos));
+			}
+			return response;
+		});
+	}
 
-			final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
-			if (response.getHttpCode() == 200) {
-				JsonNode contentJson;
-				try {
-					contentJson = JsonReader.readJsonItemString(response.getContent());
-				} catch (final Exception e) {
-					throw new Exception("Invalid Task JSON data", e);
-				}
+	/**
+	 * Executes a buffered request and records the latency of successful responses for the hedge delay
+	 */
+	private PooledHttpResponse executeMeasured(final PooledHttpRequest request) throws Exception {
+		final long startNanos = System.nanoTime();
+		final PooledHttpResponse response = httpTransport.execute(request);
+		if (response.getHttpCode() < 500) {
+			latencyTracker.addLatency(Duration.ofNanos(System.nanoTime() - startNanos));
+		}
+		return response;
+	}
 
-				final List<Integer> returnList = new ArrayList<>();
-				final JsonArray jsonArray = ((JsonArray) contentJson);
-				for (final JsonNode item : jsonArray.items()) {
-					final JsonObject itemJsonObject = (JsonObject) item;
-					returnList.add((Integer) itemJsonObject.getSimpleValue("id"));
-				}
-				return returnList;
+	private interface RequestExecution<R extends PooledHttpResponse> {
+		R execute(PooledHttpRequest request) throws Exception;
+	}
+
+	public List<Integer> getWorkflowTemplateTaskIds(final String workflowTemplateName) throws Exception {
+		return getWorkflowTemplateTaskIds(new TaskSearchQuery().setWorkflowTemplateName(workflowTemplateName));
+	}
+
+	public List<Integer> getWorkflowTemplateTaskIds(final TaskSearchQuery query) throws Exception {
+		final List<Integer> returnList = new ArrayList<>();
+		searchTasks("getWorkflowTemplateTaskIds", query, taskStatus -> returnList.add(taskStatus.getTaskID()));
+		return returnList;
+	}
+
+	/**
+	 * Loads the status of all tasks of a workflow template with a single /tasks/search request.
+	 * Only task instances that are not in a final state yet are refreshed by additional requests,
+	 * tasks without embedded instance data in the search response fall back to GET /tasks/{taskID}.
+	 */
+	public TaskStatusBulkLoadResult getWorkflowTemplateTaskStatus(final String workflowTemplateName) throws Exception {
+		return getWorkflowTemplateTaskStatusChanges(new TaskSearchQuery().setWorkflowTemplateName(workflowTemplateName), null, Collections.emptyList(), null, null);
+	}
+
+	/**
+	 * Variant of getWorkflowTemplateTaskStatus, which hands over each TaskStatus to the listener as soon as it is complete.
+	 * The listener is called by the request threads, not by the calling thread.
+	 */
+	public TaskStatusBulkLoadResult getWorkflowTemplateTaskStatus(final String workflowTemplateName, final TaskStatusLoadListener taskStatusLoadListener) throws Exception {
+		return getWorkflowTemplateTaskStatusChanges(new TaskSearchQuery().setWorkflowTemplateName(workflowTemplateName), null, Collections.emptyList(), null, taskStatusLoadListener);
+	}
+
+	/**
+	 * Paged variant of getWorkflowTemplateTaskStatus, which loads only the tasks of one page of the query.
+	 * TaskStatusBulkLoadResult.isLastPage() tells whether further pages are available.
+	 */
+	public TaskStatusBulkLoadResult getWorkflowTemplateTaskStatus(final TaskSearchQuery query, final TaskStatusLoadListener taskStatusLoadListener) throws Exception {
+		return getWorkflowTemplateTaskStatusChanges(query, null, Collections.emptyList(), null, taskStatusLoadListener);
+	}
+
+	/**
+	 * Delta variant of getWorkflowTemplateTaskStatus for polling:
+	 * Only tasks updated after updatedSince are contained in the result (all tasks if updatedSince is null).
+	 * The tasks are searched sorted by update time descending and page by page, until a page reaches the tasks not updated after updatedSince,
+	 * so a poll only downloads the changed tasks and not the whole history of the workflow template.
+	 * Additionally the given unfinished task instances of unchanged tasks are refreshed, because their status changes do not update the task.
+	 * The given recurring tasks are always reloaded, because their schedule creates new task instances without updating the task.
+	 */
+	public TaskStatusBulkLoadResult getWorkflowTemplateTaskStatusChanges(final String workflowTemplateName, final ZonedDateTime updatedSince, final Collection<Integer> unfinishedTaskInstanceIDs, final Collection<Integer> recurringTaskIDs) throws Exception {
+		return getWorkflowTemplateTaskStatusChanges(new TaskSearchQuery().setWorkflowTemplateName(workflowTemplateName), updatedSince, unfinishedTaskInstanceIDs, recurringTaskIDs, null);
+	}
+
+	private TaskStatusBulkLoadResult getWorkflowTemplateTaskStatusChanges(final TaskSearchQuery query, final ZonedDateTime updatedSince, final Collection<Integer> unfinishedTaskInstanceIDs, final Collection<Integer> recurringTaskIDs, final TaskStatusLoadListener taskStatusLoadListener) throws Exception {
+		final TaskStatusBulkLoadResult result = new TaskStatusBulkLoadResult();
+		result.increaseExecutedRequests();
+
+		TaskSearchQuery pageQuery = query;
+		if (updatedSince != null) {
+			pageQuery = new TaskSearchQuery(query).setUpdatedAfter(updatedSince).setSort(TaskSearchQuery.SORT_UPDATED_DESCENDING).setPage(0).setSize(DELTA_SEARCH_PAGE_SIZE);
+		}
+
+		// Detail requests are already started while the search result is still being read
+		final List<CompletableFuture<TaskStatus>> taskStatusFutures = new ArrayList<>();
+		final Set<Integer> receivedTaskIDs = new HashSet<>();
+		final AtomicBoolean updatedSinceReached = new AtomicBoolean(false);
+		final Consumer<TaskStatus> searchedTaskStatusConsumer = searchedTaskStatus -> {
+			if (updatedSince != null && searchedTaskStatus.getUpdated() != null && !searchedTaskStatus.getUpdated().isAfter(updatedSince)) {
+				updatedSinceReached.set(true);
+				return;
+			} else if (!receivedTaskIDs.add(searchedTaskStatus.getTaskID())) {
+				// Task moved to the next page by an update during paging
+				return;
+			}
+
+			CompletableFuture<TaskStatus> taskStatusFuture;
+			final TaskStatus cachedTaskStatus;
+			if (searchedTaskStatus.getInstances() != null && searchedTaskStatus.getParameters() != null) {
+				taskStatusFuture = CompletableFuture.completedFuture(searchedTaskStatus);
+			} else if (taskInstanceCache != null && (cachedTaskStatus = taskInstanceCache.get(searchedTaskStatus.getTaskID(), searchedTaskStatus.getUpdated())) != null) {
+				taskStatusFuture = CompletableFuture.completedFuture(cachedTaskStatus);
+				result.increaseCacheHits();
 			} else {
-				throw new Exception("getWorkflowTemplateTaskIds failed. Http Code: " + response.getHttpCode());
+				// Search result without embedded task details
+				final int taskID = searchedTaskStatus.getTaskID();
+				taskStatusFuture = requestExecutor.submit(() -> readTaskStatus(getTaskJsonObject(taskID), false));
+				result.increaseExecutedRequests();
 			}
-		} catch (final UnknownHostException e) {
-			throw new Exception("UnknownHost '" + e.getMessage() + "'");
+
+			taskStatusFutures.add(completeTaskStatus(taskStatusFuture, result, taskStatusLoadListener));
+		};
+
+		int receivedTaskCount = searchTasks("getWorkflowTemplateTaskStatus", pageQuery, searchedTaskStatusConsumer);
+		while (updatedSince != null && !updatedSinceReached.get() && !pageQuery.isLastPage(receivedTaskCount)) {
+			pageQuery = pageQuery.nextPage();
+			receivedTaskCount = searchTasks("getWorkflowTemplateTaskStatus", pageQuery, searchedTaskStatusConsumer);
+			result.increaseExecutedRequests();
+		}
+
+		// A delta contains all changed tasks, so there is no further page
+		result.setLastPage(updatedSince != null || query.isLastPage(receivedTaskCount));
+
+		if (recurringTaskIDs != null) {
+			for (final Integer taskID : recurringTaskIDs) {
+				if (receivedTaskIDs.add(taskID)) {
+					taskStatusFutures.add(completeTaskStatus(requestExecutor.submit(() -> readTaskStatus(getTaskJsonObject(taskID), false)), result, taskStatusLoadListener));
+					result.increaseExecutedRequests();
+				}
+			}
+		}
+
+		if (taskStatusLoadListener != null) {
+			taskStatusLoadListener.receiveTaskCount(taskStatusFutures.size());
+		}
+
+		final Set<Integer> instancesToRefresh = new LinkedHashSet<>(unfinishedTaskInstanceIDs);
+		for (final TaskStatus taskStatus : ArgoWfSchedulerRequestExecutor.await(ArgoWfSchedulerRequestExecutor.mergeOrdered(taskStatusFutures))) {
+			instancesToRefresh.removeAll(taskStatus.getInstances().keySet());
+			result.addTaskStatus(taskStatus);
+			if (taskInstanceCache != null) {
+				taskInstanceCache.put(taskStatus);
+			}
+		}
+
+		if (taskInstanceCache != null) {
+			try {
+				taskInstanceCache.save();
+			} catch (@SuppressWarnings("unused") final Exception e) {
+				// The cache is only an optimization, the loaded data is valid anyway
+			}
+		}
+
+		final List<CompletableFuture<TaskInstanceStatus>> unchangedTaskInstanceFutures = new ArrayList<>();
+		for (final Integer taskInstanceID : instancesToRefresh) {
+			unchangedTaskInstanceFutures.add(requestExecutor.submit(() -> getTaskInstanceStatus(taskInstanceID)));
+			result.increaseStaleInstanceRefreshes();
+		}
+		for (final TaskInstanceStatus taskInstanceStatus : ArgoWfSchedulerRequestExecutor.await(ArgoWfSchedulerRequestExecutor.mergeOrdered(unchangedTaskInstanceFutures))) {
+			result.addRefreshedTaskInstanceStatus(taskInstanceStatus);
 		}
+
+		return result;
+	}
+
+	/**
+	 * Refreshes the stale task instances of a loaded task and hands it over to the listener
+	 */
+	private CompletableFuture<TaskStatus> completeTaskStatus(final CompletableFuture<TaskStatus> taskStatusFuture, final TaskStatusBulkLoadResult result, final TaskStatusLoadListener taskStatusLoadListener) {
+		return taskStatusFuture.thenCompose(taskStatus -> refreshStaleTaskInstances(taskStatus, result)).thenApply(taskStatus -> {
+			if (taskStatusLoadListener != null) {
+				taskStatusLoadListener.receiveTaskStatus(taskStatus);
+			}
+			return taskStatus;
+		});
+	}
+
+	private CompletableFuture<TaskStatus> refreshStaleTaskInstances(final TaskStatus taskStatus, final TaskStatusBulkLoadResult result) {
+		final List<CompletableFuture<Void>> instanceRefreshFutures = new ArrayList<>();
+		for (final Entry<Integer, TaskInstanceStatus> instanceEntry : taskStatus.getInstances().entrySet()) {
+			if (isStale(instanceEntry.getValue())) {
+				instanceRefreshFutures.add(requestExecutor.submit(() -> getTaskInstanceStatus(instanceEntry.getKey())).thenAccept(instanceEntry::setValue));
+				result.increaseStaleInstanceRefreshes();
+			}
+		}
+		return CompletableFuture.allOf(instanceRefreshFutures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> taskStatus);
 	}
 
 	public TaskStatus getTaskStatus(final int taskID) throws Exception {
+		return readTaskStatus(getTaskJsonObject(taskID), true);
+	}
+
+	public CompletableFuture<TaskStatus> getTaskStatusAsync(final int taskID) {
+		return requestExecutor.submit(() -> getTaskStatus(taskID));
+	}
+
+	/**
+	 * Loads the status of multiple tasks in parallel, limited by the maximum parallel requests of this server.
+	 * The resulting list has the same order as the given task ids.
+	 */
+	public CompletableFuture<List<TaskStatus>> getTaskStatusAsync(final List<Integer> taskIDs) {
+		final List<CompletableFuture<TaskStatus>> futures = new ArrayList<>(taskIDs.size());
+		for (final Integer taskID : taskIDs) {
+			futures.add(getTaskStatusAsync(taskID));
+		}
+		return ArgoWfSchedulerRequestExecutor.mergeOrdered(futures);
+	}
+
+	/**
+	 * GET /tasks/{taskID}, shared by concurrent callers of getTaskStatus and getTaskParameters.
+	 * The returned JsonObject may be shared and must not be modified.
+	 */
+	private JsonObject getTaskJsonObject(final int taskID) throws Exception {
+		final String url = argoWfSchedulerBaseUrl + "/tasks/" + taskID;
+		return requestCoalescer.execute(HttpMethod.GET.name(), url, () -> requestTaskJsonObject(url), getRemainingTime());
+	}
+
+	private JsonObject requestTaskJsonObject(final String url) throws Exception {
 		try {
 			final String accessToken = aquireAccessTokenByClientId();
 
-			final HttpRequest request = new HttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/tasks/" + taskID);
+			final PooledHttpRequest request = new PooledHttpRequest(HttpMethod.GET, url);
 			request.addHeader("Authorization", "Bearer " + accessToken);
 			request.addHeader("accept", "application/json");
 
-			final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
+			final PooledHttpResponse response = executeWithRetry(request, this::executeHedged);
 			if (response.getHttpCode() == 200) {
 				JsonNode contentJson;
 				try {
@@ -345,37 +977,7 @@ public class ArgoWfSchedulerClient {
 					throw new Exception("Invalid Task JSON data", e);
 				}
 
-				final JsonObject jsonObject = ((JsonObject) contentJson);
-
-				final TaskStatus status = new TaskStatus();
-
-				status.setTaskID((Integer) jsonObject.getSimpleValue("id"));
-				status.setTaskName((String) jsonObject.getSimpleValue("name"));
-				status.setWorkflowName((String) jsonObject.getSimpleValue("workflowRef"));
-				status.setCreated(DateUtilities.parseZonedDateTime(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT, (String) jsonObject.getSimpleValue("createdAt"), ZoneId.systemDefault()));
-				status.setUpdated(DateUtilities.parseZonedDateTime(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT, (String) jsonObject.getSimpleValue("updatedAt"), ZoneId.systemDefault()));
-
-				final Map<Integer, TaskInstanceStatus> instances = new LinkedHashMap<>();
-				for (final JsonNode instanceItem : ((JsonArray) jsonObject.get("instances")).items()) {
-					TaskInstanceStatus instanceStatus = readTaskInstanceStatus(((JsonObject) instanceItem));
-
-					if (instanceStatus.getStatus().equals("PENDING") || instanceStatus.getStatus().equals("RUNNING")) {
-						// Workaround for missing status updates in GET /tasks/{taskID}
-						instanceStatus = getTaskInstanceStatus(instanceStatus.getTaskInstanceID());
-					}
-
-					instances.put(instanceStatus.getTaskInstanceID(), instanceStatus);
-				}
-				status.setInstances(instances);
-
-				final Map<String, String> parametersMap = new LinkedHashMap<>();
-				for (final JsonNode parameterItem : ((JsonArray) jsonObject.get("parameters")).items()) {
-					final JsonObject taskParameterJsonObject = (JsonObject) parameterItem;
-					parametersMap.put((String) taskParameterJsonObject.getSimpleValue("name"), (String) taskParameterJsonObject.getSimpleValue("value"));
-				}
-				status.setParameters(parametersMap);
-
-				return status;
+				return (JsonObject) contentJson;
 			} else {
 				throw new Exception("getTaskStatus failed. Http Code: " + response.getHttpCode());
 			}
@@ -384,15 +986,23 @@ public class ArgoWfSchedulerClient {
 		}
 	}
 
+	/**
+	 * Returns a copy of the coalesced result, because callers like the dialog update their task instances
+	 */
 	private TaskInstanceStatus getTaskInstanceStatus(final int taskInstanceID) throws Exception {
+		final String url = argoWfSchedulerBaseUrl + "/instances/" + taskInstanceID;
+		return new TaskInstanceStatus(requestCoalescer.execute(HttpMethod.GET.name(), url, () -> requestTaskInstanceStatus(url), getRemainingTime()));
+	}
+
+	private TaskInstanceStatus requestTaskInstanceStatus(final String url) throws Exception {
 		try {
 			final String accessToken = aquireAccessTokenByClientId();
 
-			final HttpRequest request = new HttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/instances/" + taskInstanceID);
+			final PooledHttpRequest request = new PooledHttpRequest(HttpMethod.GET, url);
 			request.addHeader("Authorization", "Bearer " + accessToken);
 			request.addHeader("accept", "application/json");
 
-			final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
+			final PooledHttpResponse response = executeWithRetry(request, this::executeHedged);
 			if (response.getHttpCode() == 200) {
 				JsonNode contentJson;
 				try {
@@ -410,7 +1020,50 @@ public class ArgoWfSchedulerClient {
 		}
 	}
 
-	private static TaskInstanceStatus readTaskInstanceStatus(final JsonObject jsonObject) {
+	private TaskStatus readTaskStatus(final JsonObject jsonObject, final boolean refreshStaleInstances) throws Exception {
+		final TaskStatus status = new TaskStatus();
+
+		status.setTaskID((Integer) jsonObject.getSimpleValue("id"));
+		status.setTaskName((String) jsonObject.getSimpleValue("name"));
+		status.setWorkflowName((String) jsonObject.getSimpleValue("workflowRef"));
+		status.setCreated(DateUtilities.parseZonedDateTime(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT, (String) jsonObject.getSimpleValue("createdAt"), ZoneId.systemDefault()));
+		status.setUpdated(DateUtilities.parseZonedDateTime(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT, (String) jsonObject.getSimpleValue("updatedAt"), ZoneId.systemDefault()));
+		status.setCronExpression((String) jsonObject.getSimpleValue("cronExpression"));
+
+		final Map<Integer, TaskInstanceStatus> instances = new LinkedHashMap<>();
+		for (final JsonNode instanceItem : ((JsonArray) jsonObject.get("instances")).items()) {
+			TaskInstanceStatus instanceStatus = readTaskInstanceStatus(((JsonObject) instanceItem));
+
+			if (refreshStaleInstances && isStale(instanceStatus)) {
+				instanceStatus = getTaskInstanceStatus(instanceStatus.getTaskInstanceID());
+			}
+
+			instances.put(instanceStatus.getTaskInstanceID(), instanceStatus);
+		}
+		status.setInstances(instances);
+
+		final Map<String, String> parametersMap = new LinkedHashMap<>();
+		for (final JsonNode parameterItem : ((JsonArray) jsonObject.get("parameters")).items()) {
+			final JsonObject taskParameterJsonObject = (JsonObject) parameterItem;
+			parametersMap.put((String) taskParameterJsonObject.getSimpleValue("name"), (String) taskParameterJsonObject.getSimpleValue("value"));
+		}
+		status.setParameters(parametersMap);
+
+		return status;
+	}
+
+	/**
+	 * Workaround for missing status updates in GET /tasks/{taskID} and /tasks/search:
+	 * Instances which are not finished yet may carry an outdated status
+	 */
+	private static boolean isStale(final TaskInstanceStatus instanceStatus) {
+		return !instanceStatus.isFinished();
+	}
+
+	/**
+	 * Also used by TaskSearchResultReader for the instances embedded in search results
+	 */
+	static TaskInstanceStatus readTaskInstanceStatus(final JsonObject jsonObject) {
 		final TaskInstanceStatus status = new TaskInstanceStatus();
 
 		status.setTaskID((Integer) jsonObject.getSimpleValue("taskId"));
@@ -428,11 +1081,11 @@ public class ArgoWfSchedulerClient {
 	//		try {
 	//			final String accessToken = aquireAccessTokenByClientId();
 	//
-	//			final HttpRequest request = new HttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/tasks/" + taskID + "/log");
+	//			final PooledHttpRequest request = new PooledHttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/tasks/" + taskID + "/log");
 	//			request.addHeader("Authorization", "Bearer " + accessToken);
 	//			request.addHeader("accept", "application/json");
 	//
-	//			final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
+	//			final PooledHttpResponse response = httpTransport.execute(request);
 	//			if (response.getHttpCode() == 200) {
 	//				JsonNode contentJson;
 	//				try {
@@ -462,11 +1115,11 @@ public class ArgoWfSchedulerClient {
 	//		try {
 	//			final String accessToken = aquireAccessTokenByClientId();
 	//
-	//			final HttpRequest request = new HttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/tasks/" + taskID);
+	//			final PooledHttpRequest request = new PooledHttpRequest(HttpMethod.GET, argoWfSchedulerBaseUrl + "/tasks/" + taskID);
 	//			request.addHeader("Authorization", "Bearer " + accessToken);
 	//			request.addHeader("accept", "application/json");
 	//
-	//			final HttpResponse response = HttpUtilities.executeHttpRequest(request, proxyConfiguration.getProxy(request.getUrl()), trustManager);
+	//			final PooledHttpResponse response = httpTransport.execute(request);
 	//			if (response.getHttpCode() == 200) {
 	//				JsonNode contentJson;
 	//				try {
@@ -0,0 +1,126 @@
+package de.soderer.argonaut.helper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded thread pool for requests to one ArgoWfScheduler server.
+ * All clients for the same server share one pool, so the configured maximum of parallel requests is kept per server.
+ */
+public class ArgoWfSchedulerRequestExecutor {
+	public static final int DEFAULT_MAXIMUM_PARALLEL_REQUESTS = 8;
+
+	private static final Map<String, ArgoWfSchedulerRequestExecutor> EXECUTORS = new ConcurrentHashMap<>();
+
+	private final ThreadPoolExecutor executorService;
+
+	/**
+	 * Returns the pool of the server, which is created with the default maximum of parallel requests if it does not exist yet
+	 */
+	public static ArgoWfSchedulerRequestExecutor getInstance(final String serverBaseUrl) {
+		return EXECUTORS.computeIfAbsent(serverBaseUrl, key -> new ArgoWfSchedulerRequestExecutor(serverBaseUrl, DEFAULT_MAXIMUM_PARALLEL_REQUESTS));
+	}
+
+	/**
+	 * Returns the pool of the server with the given maximum of parallel requests.
+	 * An existing pool is resized and never shut down, because other clients of the server may still use it.
+	 */
+	public static ArgoWfSchedulerRequestExecutor getInstance(final String serverBaseUrl, final int maximumParallelRequests) {
+		final ArgoWfSchedulerRequestExecutor executor = getInstance(serverBaseUrl);
+		executor.setMaximumParallelRequests(maximumParallelRequests > 0 ? maximumParallelRequests : DEFAULT_MAXIMUM_PARALLEL_REQUESTS);
+		return executor;
+	}
+
+	private ArgoWfSchedulerRequestExecutor(final String serverBaseUrl, final int maximumParallelRequests) {
+		executorService = new ThreadPoolExecutor(maximumParallelRequests, maximumParallelRequests, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new ThreadFactory() {
+			private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				final Thread thread = new Thread(runnable, "ArgoWfScheduler-" + serverBaseUrl + "-" + threadNumber.getAndIncrement());
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+	}
+
+	private synchronized void setMaximumParallelRequests(final int maximumParallelRequests) {
+		// Core size may never exceed maximum size, so the order depends on the direction
+		if (maximumParallelRequests > executorService.getMaximumPoolSize()) {
+			executorService.setMaximumPoolSize(maximumParallelRequests);
+			executorService.setCorePoolSize(maximumParallelRequests);
+		} else if (maximumParallelRequests < executorService.getMaximumPoolSize()) {
+			executorService.setCorePoolSize(maximumParallelRequests);
+			executorService.setMaximumPoolSize(maximumParallelRequests);
+		}
+	}
+
+	public int getMaximumParallelRequests() {
+		return executorService.getMaximumPoolSize();
+	}
+
+	public <T> CompletableFuture<T> submit(final Callable<T> callable) {
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return callable.call();
+			} catch (final RuntimeException e) {
+				throw e;
+			} catch (final Exception e) {
+				throw new CompletionException(e);
+			}
+		}, executorService);
+	}
+
+	/**
+	 * Merges the results of the given futures in the order of the futures list, not in the order of their completion
+	 */
+	public static <T> CompletableFuture<List<T>> mergeOrdered(final List<CompletableFuture<T>> futures) {
+		return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+			final List<T> returnList = new ArrayList<>(futures.size());
+			for (final CompletableFuture<T> future : futures) {
+				returnList.add(future.join());
+			}
+			return returnList;
+		});
+	}
+
+	/**
+	 * Waits for the result of a future and rethrows the original exception of a failed request
+	 */
+	public static <T> T await(final CompletableFuture<T> future) throws Exception {
+		return await(future, null);
+	}
+
+	/**
+	 * Waits at most the given timeout (no limit if null) for the result of a future and rethrows the original exception of a failed request
+	 */
+	public static <T> T await(final CompletableFuture<T> future, final Duration timeout) throws Exception {
+		try {
+			if (timeout == null) {
+				return future.get();
+			} else {
+				return future.get(Math.max(0, timeout.toMillis()), TimeUnit.MILLISECONDS);
+			}
+		} catch (final ExecutionException e) {
+			if (e.getCause() instanceof CompletionException && e.getCause().getCause() instanceof Exception) {
+				throw (Exception) e.getCause().getCause();
+			} else if (e.getCause() instanceof Exception) {
+				throw (Exception) e.getCause();
+			} else {
+				throw e;
+			}
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package de.soderer.argonaut.helper;
+
+/**
+ * The deadline of an ArgoWfSchedulerClient operation was exceeded before the operation was complete
+ */
+public class DeadlineExceededException extends Exception {
+	private static final long serialVersionUID = 2935118422740213573L;
+
+	public DeadlineExceededException(final String errorMessage) {
+		super(errorMessage);
+	}
+}
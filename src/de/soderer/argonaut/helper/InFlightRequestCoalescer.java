@@ -0,0 +1,87 @@
+package de.soderer.argonaut.helper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single flight execution of identical requests (same method and URL) of one server and client identity.
+ * While a request is in flight, concurrent callers of the same request wait for it and get its parsed result instead of sending their own request.
+ * Results are shared between these callers and therefore must not be modified.
+ */
+public class InFlightRequestCoalescer {
+	private static final Map<String, InFlightRequestCoalescer> COALESCERS = new ConcurrentHashMap<>();
+
+	private final Map<String, CompletableFuture<Object>> requestsInFlight = new ConcurrentHashMap<>();
+
+	private final AtomicLong executedRequests = new AtomicLong();
+	private final AtomicLong coalescedRequests = new AtomicLong();
+
+	public static InFlightRequestCoalescer getInstance(final String clientIdentity) {
+		return COALESCERS.computeIfAbsent(clientIdentity, key -> new InFlightRequestCoalescer());
+	}
+
+	private InFlightRequestCoalescer() {
+	}
+
+	public <T> T execute(final String method, final String url, final Callable<T> request) throws Exception {
+		return execute(method, url, request, null);
+	}
+
+	/**
+	 * Variant for callers with a deadline, which wait at most maximumWait (no limit if null) for an identical request in flight.
+	 * Each caller waits with its own deadline: If the request in flight failed by the deadline of its caller, a waiting caller sends the request itself.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T execute(final String method, final String url, final Callable<T> request, final Duration maximumWait) throws Exception {
+		final String requestKey = method + " " + url;
+		final long waitEndMillis = maximumWait == null ? Long.MAX_VALUE : System.currentTimeMillis() + maximumWait.toMillis();
+		final CompletableFuture<Object> future = new CompletableFuture<>();
+		CompletableFuture<Object> requestInFlight;
+		while ((requestInFlight = requestsInFlight.putIfAbsent(requestKey, future)) != null) {
+			coalescedRequests.incrementAndGet();
+			try {
+				return (T) ArgoWfSchedulerRequestExecutor.await(requestInFlight, maximumWait == null ? null : Duration.ofMillis(waitEndMillis - System.currentTimeMillis()));
+			} catch (@SuppressWarnings("unused") final TimeoutException e) {
+				throw new DeadlineExceededException("Deadline exceeded while waiting for request in flight: " + requestKey);
+			} catch (@SuppressWarnings("unused") final DeadlineExceededException e) {
+				// Deadline of another caller, which says nothing about the deadline of this caller
+				coalescedRequests.decrementAndGet();
+				requestsInFlight.remove(requestKey, requestInFlight);
+			}
+		}
+
+		executedRequests.incrementAndGet();
+		try {
+			final T result = request.call();
+			future.complete(result);
+			return result;
+		} catch (final Exception e) {
+			future.completeExceptionally(e);
+			throw e;
+		} finally {
+			if (!future.isDone()) {
+				future.completeExceptionally(new Exception("Coalesced request failed: " + requestKey));
+			}
+			requestsInFlight.remove(requestKey, future);
+		}
+	}
+
+	/**
+	 * Number of requests really sent to the server
+	 */
+	public long getExecutedRequests() {
+		return executedRequests.get();
+	}
+
+	/**
+	 * Number of requests answered by the result of an identical request in flight
+	 */
+	public long getCoalescedRequests() {
+		return coalescedRequests.get();
+	}
+}
@@ -0,0 +1,118 @@
+package de.soderer.argonaut.helper;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import de.soderer.network.HttpMethod;
+
+/**
+ * Request data for PooledHttpTransport
+ */
+public class PooledHttpRequest {
+	private final HttpMethod httpMethod;
+	private final String url;
+	private final Map<String, String> headers = new LinkedHashMap<>();
+	private final List<Entry<String, String>> urlParameters = new ArrayList<>();
+	private final List<Entry<String, String>> postParameters = new ArrayList<>();
+	private String requestBody = null;
+	private Duration timeout = null;
+
+	public PooledHttpRequest(final HttpMethod httpMethod, final String url) {
+		this.httpMethod = httpMethod;
+		this.url = url;
+	}
+
+	public HttpMethod getHttpMethod() {
+		return httpMethod;
+	}
+
+	/**
+	 * Url without url parameters
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	public String getUrlWithParameters() {
+		if (urlParameters.isEmpty()) {
+			return url;
+		} else {
+			return url + (url.contains("?") ? "&" : "?") + getParameterString(urlParameters);
+		}
+	}
+
+	public Map<String, String> getHeaders() {
+		return headers;
+	}
+
+	public PooledHttpRequest addHeader(final String name, final String value) {
+		headers.put(name, value);
+		return this;
+	}
+
+	public PooledHttpRequest addUrlParameter(final String name, final Object value) {
+		urlParameters.add(new SimpleEntry<>(name, value == null ? null : value.toString()));
+		return this;
+	}
+
+	public List<Entry<String, String>> getPostParameters() {
+		return postParameters;
+	}
+
+	public PooledHttpRequest addPostParameter(final String name, final Object value) {
+		postParameters.add(new SimpleEntry<>(name, value == null ? null : value.toString()));
+		return this;
+	}
+
+	public String getRequestBody() {
+		return requestBody;
+	}
+
+	public PooledHttpRequest setRequestBody(final String requestBody) {
+		this.requestBody = requestBody;
+		return this;
+	}
+
+	public Duration getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Maximum duration from sending the request until the response headers are received, including the connection setup.
+	 * Without timeout only the connect timeout of the transport applies.
+	 */
+	public PooledHttpRequest setTimeout(final Duration timeout) {
+		this.timeout = timeout;
+		return this;
+	}
+
+	public String getPostParameterString() {
+		return getParameterString(postParameters);
+	}
+
+	private static String getParameterString(final List<Entry<String, String>> parameters) {
+		final StringBuilder parameterString = new StringBuilder();
+		for (final Entry<String, String> parameter : parameters) {
+			if (parameterString.length() > 0) {
+				parameterString.append("&");
+			}
+			parameterString.append(URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8));
+			if (parameter.getValue() != null) {
+				parameterString.append("=").append(URLEncoder.encode(parameter.getValue(), StandardCharsets.UTF_8));
+			}
+		}
+		return parameterString.toString();
+	}
+
+	@Override
+	public String toString() {
+		return httpMethod.name() + " " + getUrlWithParameters();
+	}
+}
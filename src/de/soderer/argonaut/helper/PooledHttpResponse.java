@@ -0,0 +1,60 @@
+package de.soderer.argonaut.helper;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Response data of PooledHttpTransport.
+ * Header names are case insensitive, because HTTP/2 transmits them in lower case only.
+ */
+public class PooledHttpResponse {
+	private final int httpCode;
+	private final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+	private final byte[] contentData;
+
+	public PooledHttpResponse(final int httpCode, final Map<String, String> headers, final byte[] contentData) {
+		this.httpCode = httpCode;
+		if (headers != null) {
+			this.headers.putAll(headers);
+		}
+		this.contentData = contentData;
+	}
+
+	public int getHttpCode() {
+		return httpCode;
+	}
+
+	public Map<String, String> getHeaders() {
+		return headers;
+	}
+
+	public byte[] getContentData() {
+		return contentData;
+	}
+
+	public String getContent() {
+		if (contentData == null) {
+			return null;
+		} else {
+			return new String(contentData, getEncoding());
+		}
+	}
+
+	public Charset getEncoding() {
+		final String contentType = headers.get("Content-Type");
+		if (contentType != null) {
+			for (final String contentTypePart : contentType.split(";")) {
+				if (contentTypePart.trim().toLowerCase().startsWith("charset=")) {
+					try {
+						return Charset.forName(contentTypePart.trim().substring(8).replace("\"", ""));
+					} catch (@SuppressWarnings("unused") final Exception e) {
+						// Use default encoding
+					}
+				}
+			}
+		}
+		return StandardCharsets.UTF_8;
+	}
+}
@@ -0,0 +1,30 @@
+package de.soderer.argonaut.helper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Response of PooledHttpTransport.executeStreamed, whose body is not buffered in memory
+ */
+public class PooledHttpStreamResponse extends PooledHttpResponse implements Closeable {
+	private final InputStream contentStream;
+
+	public PooledHttpStreamResponse(final int httpCode, final Map<String, String> headers, final InputStream contentStream) {
+		super(httpCode, headers, null);
+
+		this.contentStream = contentStream;
+	}
+
+	public InputStream getContentStream() {
+		return contentStream;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (contentStream != null) {
+			contentStream.close();
+		}
+	}
+}
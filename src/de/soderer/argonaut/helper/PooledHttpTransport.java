@@ -0,0 +1,327 @@
+package de.soderer.argonaut.helper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.channels.UnresolvedAddressException;
+import java.security.SecureRandom;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+import javax.net.ssl.X509TrustManager;
+
+import de.soderer.pac.utilities.ProxyConfiguration;
+import de.soderer.pac.utilities.ProxyConfiguration.ProxyConfigurationType;
+
+/**
+ * Keep-alive transport for all requests to ArgoWfScheduler and IdP servers.
+ * One java.net.http.HttpClient is shared for each proxy configuration and TLS check setting, so connections (and HTTP/2 streams)
+ * are reused across requests, servers and ArgoWfSchedulerClient instances.
+ * Requests without a timeout of their own (e.g. of clients without deadline) get the read timeout of the transport, so a stalled connection or HTTP/2 stream never blocks forever.
+ */
+public class PooledHttpTransport {
+	public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(30);
+	public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(60);
+
+	/** Duration a proxy evaluated by the proxy configuration (e.g. by PAC script) is used for further requests to the same host */
+	public static final Duration PROXY_RESOLUTION_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+	private static final Map<String, PooledHttpTransport> TRANSPORTS = new HashMap<>();
+
+	private final String transportKey;
+	private final ProxyConfiguration proxyConfiguration;
+	private final HttpClient httpClient;
+	private volatile Duration readTimeout = DEFAULT_READ_TIMEOUT;
+
+	private final AtomicLong requestCount = new AtomicLong();
+
+	/**
+	 * Transports are shared by the values of the proxy settings and the TLS check mode, so equal settings never create another HttpClient
+	 */
+	public static synchronized PooledHttpTransport getInstance(final ProxyConfigurationType proxyConfigurationType, final String proxyUrl, final TrustManager trustManager) throws Exception {
+		final String transportKey = proxyConfigurationType + "|" + (proxyUrl == null ? "" : proxyUrl.trim()) + "|" + (trustManager != null);
+		PooledHttpTransport transport = TRANSPORTS.get(transportKey);
+		if (transport == null) {
+			transport = new PooledHttpTransport(transportKey, proxyConfigurationType == null ? null : new ProxyConfiguration(proxyConfigurationType, proxyUrl), trustManager);
+			TRANSPORTS.put(transportKey, transport);
+		}
+		return transport;
+	}
+
+	private PooledHttpTransport(final String transportKey, final ProxyConfiguration proxyConfiguration, final TrustManager trustManager) throws Exception {
+		this.transportKey = transportKey;
+		this.proxyConfiguration = proxyConfiguration;
+
+		final SSLContext sslContext;
+		if (trustManager != null) {
+			sslContext = SSLContext.getInstance("TLS");
+			final TrustManager hostnameIgnoringTrustManager = trustManager instanceof X509TrustManager && !(trustManager instanceof X509ExtendedTrustManager) ? new HostnameIgnoringTrustManager((X509TrustManager) trustManager) : trustManager;
+			sslContext.init(null, new TrustManager[] { hostnameIgnoringTrustManager }, new SecureRandom());
+		} else {
+			sslContext = SSLContext.getDefault();
+		}
+
+		httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_2)
+				.connectTimeout(DEFAULT_CONNECT_TIMEOUT)
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.proxy(new ConfiguredProxySelector())
+				.sslContext(sslContext)
+				.build();
+	}
+
+	/**
+	 * Timeout for requests without a timeout of their own, null for no limit
+	 */
+	public PooledHttpTransport setReadTimeout(final Duration readTimeout) {
+		this.readTimeout = readTimeout;
+		return this;
+	}
+
+	public Duration getReadTimeout() {
+		return readTimeout;
+	}
+
+	public PooledHttpResponse execute(final PooledHttpRequest request) throws Exception {
+		final java.net.http.HttpResponse<byte[]> response = send(request, BodyHandlers.ofByteArray());
+		return new PooledHttpResponse(response.statusCode(), getHeaders(response), response.body());
+	}
+
+	/**
+	 * Executes the request without buffering the response body.
+	 * The caller reads the body from the response's InputStream and must close the response afterwards to release the connection.
+	 */
+	public PooledHttpStreamResponse executeStreamed(final PooledHttpRequest request) throws Exception {
+		final java.net.http.HttpResponse<InputStream> response = send(request, BodyHandlers.ofInputStream());
+		return new PooledHttpStreamResponse(response.statusCode(), getHeaders(response), response.body());
+	}
+
+	/**
+	 * Executes the request without blocking a thread while waiting for the response
+	 */
+	public CompletableFuture<PooledHttpResponse> executeAsync(final PooledHttpRequest request) {
+		requestCount.incrementAndGet();
+		return httpClient.sendAsync(createHttpRequest(request), BodyHandlers.ofByteArray()).handle((response, error) -> {
+			if (error != null) {
+				final Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+				final UnknownHostException unknownHostException = getUnknownHostException(request, cause);
+				throw new CompletionException(unknownHostException != null ? unknownHostException : cause);
+			}
+			return new PooledHttpResponse(response.statusCode(), getHeaders(response), response.body());
+		});
+	}
+
+	private <T> java.net.http.HttpResponse<T> send(final PooledHttpRequest request, final BodyHandler<T> bodyHandler) throws Exception {
+		final java.net.http.HttpRequest httpRequest = createHttpRequest(request);
+		requestCount.incrementAndGet();
+		try {
+			return httpClient.send(httpRequest, bodyHandler);
+		} catch (final IOException e) {
+			final UnknownHostException unknownHostException = getUnknownHostException(request, e);
+			if (unknownHostException != null) {
+				throw unknownHostException;
+			}
+			throw e;
+		}
+	}
+
+	private static UnknownHostException getUnknownHostException(final PooledHttpRequest request, final Throwable error) {
+		Throwable cause = error;
+		while (cause != null) {
+			if (cause instanceof UnresolvedAddressException || cause instanceof UnknownHostException) {
+				return new UnknownHostException(URI.create(request.getUrl()).getHost());
+			}
+			cause = cause.getCause();
+		}
+		return null;
+	}
+
+	private java.net.http.HttpRequest createHttpRequest(final PooledHttpRequest request) {
+		final java.net.http.HttpRequest.Builder requestBuilder = java.net.http.HttpRequest.newBuilder(URI.create(request.getUrlWithParameters()));
+		for (final Entry<String, String> header : request.getHeaders().entrySet()) {
+			requestBuilder.header(header.getKey(), header.getValue());
+		}
+		if (request.getTimeout() != null) {
+			requestBuilder.timeout(request.getTimeout());
+		} else if (readTimeout != null) {
+			requestBuilder.timeout(readTimeout);
+		}
+
+		if (!request.getPostParameters().isEmpty()) {
+			if (!request.getHeaders().containsKey("Content-Type")) {
+				requestBuilder.header("Content-Type", "application/x-www-form-urlencoded");
+			}
+			requestBuilder.method(request.getHttpMethod().name(), BodyPublishers.ofString(request.getPostParameterString()));
+		} else if (request.getRequestBody() != null) {
+			requestBuilder.method(request.getHttpMethod().name(), BodyPublishers.ofString(request.getRequestBody()));
+		} else {
+			requestBuilder.method(request.getHttpMethod().name(), BodyPublishers.noBody());
+		}
+		return requestBuilder.build();
+	}
+
+	private static Map<String, String> getHeaders(final java.net.http.HttpResponse<?> response) {
+		final Map<String, String> headers = new LinkedHashMap<>();
+		for (final Entry<String, List<String>> header : response.headers().map().entrySet()) {
+			if (!header.getValue().isEmpty()) {
+				headers.put(header.getKey(), header.getValue().get(0));
+			}
+		}
+		return headers;
+	}
+
+	public long getRequestCount() {
+		return requestCount.get();
+	}
+
+	/**
+	 * Value of the proxy settings and the TLS check mode, which identifies this shared transport
+	 */
+	public String getTransportKey() {
+		return transportKey;
+	}
+
+	public String getStatisticsText() {
+		return "Requests: " + getRequestCount()
+			+ ", read timeout: " + (readTimeout == null ? "none" : readTimeout.getSeconds() + " s");
+	}
+
+	/**
+	 * The JSSE wrapper of a plain X509TrustManager checks the hostname of the server certificate, and the HttpClient always requests this check for its connections.
+	 * An X509ExtendedTrustManager is used as given, so the trust all transport wraps its trust manager in one that skips the hostname check for its own connections only.
+	 */
+	private static class HostnameIgnoringTrustManager extends X509ExtendedTrustManager {
+		private final X509TrustManager delegate;
+
+		public HostnameIgnoringTrustManager(final X509TrustManager delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void checkClientTrusted(final X509Certificate[] chain, final String authType) throws CertificateException {
+			delegate.checkClientTrusted(chain, authType);
+		}
+
+		@Override
+		public void checkClientTrusted(final X509Certificate[] chain, final String authType, final Socket socket) throws CertificateException {
+			delegate.checkClientTrusted(chain, authType);
+		}
+
+		@Override
+		public void checkClientTrusted(final X509Certificate[] chain, final String authType, final SSLEngine engine) throws CertificateException {
+			delegate.checkClientTrusted(chain, authType);
+		}
+
+		@Override
+		public void checkServerTrusted(final X509Certificate[] chain, final String authType) throws CertificateException {
+			delegate.checkServerTrusted(chain, authType);
+		}
+
+		@Override
+		public void checkServerTrusted(final X509Certificate[] chain, final String authType, final Socket socket) throws CertificateException {
+			delegate.checkServerTrusted(chain, authType);
+		}
+
+		@Override
+		public void checkServerTrusted(final X509Certificate[] chain, final String authType, final SSLEngine engine) throws CertificateException {
+			delegate.checkServerTrusted(chain, authType);
+		}
+
+		@Override
+		public X509Certificate[] getAcceptedIssuers() {
+			return delegate.getAcceptedIssuers();
+		}
+	}
+
+	/**
+	 * Proxy selection by the proxy configuration, which is evaluated only once per scheme, host and port within PROXY_RESOLUTION_TIME_TO_LIVE.
+	 * This keeps PAC script executions out of the request path.
+	 * A failed connection discards the resolved proxy of its target, so the next request evaluates the proxy configuration again.
+	 */
+	private class ConfiguredProxySelector extends ProxySelector {
+		private final Map<String, ResolvedProxy> resolvedProxies = new ConcurrentHashMap<>();
+
+		@Override
+		public List<Proxy> select(final URI uri) {
+			if (proxyConfiguration == null) {
+				return Collections.singletonList(Proxy.NO_PROXY);
+			}
+
+			final String proxyKey = getProxyKey(uri);
+			final ResolvedProxy resolvedProxy = resolvedProxies.get(proxyKey);
+			if (resolvedProxy != null && resolvedProxy.isValid()) {
+				return Collections.singletonList(resolvedProxy.getProxy());
+			}
+
+			Proxy proxy;
+			try {
+				proxy = proxyConfiguration.getProxy(uri.toString());
+				if (proxy == null) {
+					proxy = Proxy.NO_PROXY;
+				}
+				resolvedProxies.put(proxyKey, new ResolvedProxy(proxy));
+			} catch (@SuppressWarnings("unused") final Exception e) {
+				// Failed evaluations are not cached, so the next request tries again
+				proxy = Proxy.NO_PROXY;
+			}
+			return Collections.singletonList(proxy);
+		}
+
+		@Override
+		public void connectFailed(final URI uri, final SocketAddress socketAddress, final IOException e) {
+			if (uri != null) {
+				resolvedProxies.remove(getProxyKey(uri));
+			}
+		}
+
+		private String getProxyKey(final URI uri) {
+			final String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase();
+			int port = uri.getPort();
+			if (port < 0) {
+				port = "https".equals(scheme) ? 443 : 80;
+			}
+			return scheme + "://" + (uri.getHost() == null ? "" : uri.getHost().toLowerCase()) + ":" + port;
+		}
+	}
+
+	private static class ResolvedProxy {
+		private final Proxy proxy;
+		private final long resolvedMillis = System.currentTimeMillis();
+
+		public ResolvedProxy(final Proxy proxy) {
+			this.proxy = proxy;
+		}
+
+		public Proxy getProxy() {
+			return proxy;
+		}
+
+		public boolean isValid() {
+			return System.currentTimeMillis() - resolvedMillis < PROXY_RESOLUTION_TIME_TO_LIVE.toMillis();
+		}
+	}
+}
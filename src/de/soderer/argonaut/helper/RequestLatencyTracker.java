@@ -0,0 +1,92 @@
+package de.soderer.argonaut.helper;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies of the latest successful requests to one ArgoWfScheduler server, shared by all clients of this server.
+ * The 95th percentile is used as delay for hedged requests.
+ */
+public class RequestLatencyTracker {
+	public static final Duration MINIMUM_HEDGE_DELAY = Duration.ofMillis(50);
+
+	private static final int SAMPLE_SIZE = 200;
+
+	/** Below this number of samples the percentile is not meaningful and no request is hedged */
+	private static final int MINIMUM_SAMPLES = 20;
+
+	private static final Map<String, RequestLatencyTracker> TRACKERS = new ConcurrentHashMap<>();
+
+	private final long[] latencyMillis = new long[SAMPLE_SIZE];
+	private int nextSampleIndex = 0;
+	private int sampleCount = 0;
+
+	private final AtomicLong hedgedRequests = new AtomicLong();
+	private final AtomicLong hedgedRequestWins = new AtomicLong();
+
+	public static RequestLatencyTracker getInstance(final String serverBaseUrl) {
+		return TRACKERS.computeIfAbsent(serverBaseUrl, key -> new RequestLatencyTracker());
+	}
+
+	private RequestLatencyTracker() {
+	}
+
+	public synchronized void addLatency(final Duration latency) {
+		latencyMillis[nextSampleIndex] = latency.toMillis();
+		nextSampleIndex = (nextSampleIndex + 1) % SAMPLE_SIZE;
+		sampleCount = Math.min(sampleCount + 1, SAMPLE_SIZE);
+	}
+
+	/**
+	 * Returns the latency percentile (0 < percentile <= 100) of the latest requests or null if there are not enough samples yet
+	 */
+	public synchronized Duration getLatencyPercentile(final double percentile) {
+		if (sampleCount < MINIMUM_SAMPLES) {
+			return null;
+		} else {
+			final long[] sortedLatencyMillis = Arrays.copyOf(latencyMillis, sampleCount);
+			Arrays.sort(sortedLatencyMillis);
+			final int index = (int) Math.ceil(percentile / 100 * sampleCount) - 1;
+			return Duration.ofMillis(sortedLatencyMillis[Math.max(0, Math.min(sampleCount - 1, index))]);
+		}
+	}
+
+	/**
+	 * Delay after which an unanswered request is duplicated, or null if requests should not be hedged yet
+	 */
+	public Duration getHedgeDelay() {
+		final Duration latencyPercentile = getLatencyPercentile(95);
+		if (latencyPercentile == null) {
+			return null;
+		} else if (latencyPercentile.compareTo(MINIMUM_HEDGE_DELAY) < 0) {
+			return MINIMUM_HEDGE_DELAY;
+		} else {
+			return latencyPercentile;
+		}
+	}
+
+	public void increaseHedgedRequests() {
+		hedgedRequests.incrementAndGet();
+	}
+
+	public void increaseHedgedRequestWins() {
+		hedgedRequestWins.incrementAndGet();
+	}
+
+	/**
+	 * Number of requests duplicated because they were not answered within the hedge delay
+	 */
+	public long getHedgedRequests() {
+		return hedgedRequests.get();
+	}
+
+	/**
+	 * Number of duplicated requests that were answered before the original request
+	 */
+	public long getHedgedRequestWins() {
+		return hedgedRequestWins.get();
+	}
+}
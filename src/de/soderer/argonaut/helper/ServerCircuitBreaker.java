@@ -0,0 +1,69 @@
+package de.soderer.argonaut.helper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Circuit breaker for one ArgoWfScheduler server, shared by all clients of this server.
+ * After FAILURE_THRESHOLD consecutive failed requests (connection errors, timeouts or gateway errors) requests fail fast for OPEN_DURATION.
+ * Then a single trial request is let through, which closes the breaker on success or opens it again on failure.
+ */
+public class ServerCircuitBreaker {
+	public static final int FAILURE_THRESHOLD = 5;
+	public static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+	private static final Map<String, ServerCircuitBreaker> CIRCUIT_BREAKERS = new ConcurrentHashMap<>();
+
+	private final String serverBaseUrl;
+
+	private int consecutiveFailures = 0;
+	private long openedMillis = 0;
+	private boolean trialInProgress = false;
+
+	public static ServerCircuitBreaker getInstance(final String serverBaseUrl) {
+		return CIRCUIT_BREAKERS.computeIfAbsent(serverBaseUrl, ServerCircuitBreaker::new);
+	}
+
+	private ServerCircuitBreaker(final String serverBaseUrl) {
+		this.serverBaseUrl = serverBaseUrl;
+	}
+
+	/**
+	 * Throws an exception without any request, while the server is regarded as unavailable
+	 */
+	public synchronized void checkAvailable() throws Exception {
+		if (consecutiveFailures >= FAILURE_THRESHOLD) {
+			final long remainingOpenMillis = openedMillis + OPEN_DURATION.toMillis() - System.currentTimeMillis();
+			if (remainingOpenMillis > 0 || trialInProgress) {
+				throw new Exception("ArgoWfScheduler server '" + serverBaseUrl + "' is unavailable after " + consecutiveFailures + " failed requests. Next try in " + Math.max(1, remainingOpenMillis / 1000) + " seconds");
+			}
+			trialInProgress = true;
+		}
+	}
+
+	public synchronized void recordSuccess() {
+		consecutiveFailures = 0;
+		trialInProgress = false;
+	}
+
+	public synchronized void recordFailure() {
+		consecutiveFailures++;
+		if (consecutiveFailures >= FAILURE_THRESHOLD) {
+			openedMillis = System.currentTimeMillis();
+		}
+		trialInProgress = false;
+	}
+
+	/**
+	 * Ends a request, which was neither a success nor a failure of the server (e.g. interrupted or cut off by a deadline).
+	 * A trial request ending this way lets the next request be the trial.
+	 */
+	public synchronized void releaseTrial() {
+		trialInProgress = false;
+	}
+
+	public synchronized boolean isOpen() {
+		return consecutiveFailures >= FAILURE_THRESHOLD;
+	}
+}
@@ -0,0 +1,77 @@
+package de.soderer.argonaut.helper;
+
+import java.util.Map;
+
+/**
+ * Outcome of the creation, start and optional completion of one task within a headless workflow execution
+ */
+public class TaskExecution {
+	public enum State {
+		PENDING,
+		CREATE_FAILED,
+		START_FAILED,
+		STARTED,
+		SUCCEEDED,
+		FAILED,
+		TIMED_OUT,
+		CANCELLED;
+
+		public boolean isFinal() {
+			return this != PENDING && this != STARTED;
+		}
+	}
+
+	private final int index;
+	private final Map<String, String> parameters;
+	private volatile Integer taskID = null;
+	private volatile State state = State.PENDING;
+	private volatile String message = null;
+
+	public TaskExecution(final int index, final Map<String, String> parameters) {
+		this.index = index;
+		this.parameters = parameters;
+	}
+
+	/**
+	 * Position of the parameter set of this task within the execution, starting at 0
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	public Map<String, String> getParameters() {
+		return parameters;
+	}
+
+	public Integer getTaskID() {
+		return taskID;
+	}
+
+	public TaskExecution setTaskID(final Integer taskID) {
+		this.taskID = taskID;
+		return this;
+	}
+
+	public State getState() {
+		return state;
+	}
+
+	public TaskExecution setState(final State state) {
+		this.state = state;
+		return this;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+	public TaskExecution setMessage(final String message) {
+		this.message = message;
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return "#" + (index + 1) + (taskID != null ? " (TaskID " + taskID + ")" : "") + ": " + state.name() + (message != null ? " " + message : "");
+	}
+}
@@ -0,0 +1,390 @@
+package de.soderer.argonaut.helper;
+
+import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persistent cache of tasks, which are executed only once and whose task instances are all finished, for one ArgoWfScheduler server.
+ * Finished task instances never change again, so a cached task stays valid as long as the task itself was not updated after it was cached.
+ * Recurring tasks are not cached, because their schedule creates new task instances without updating the task.
+ * The cache is stored in a compact binary file and keeps the least recently used tasks up to a maximum number of task instances.
+ * The cache only saves the detail requests of tasks, the task list itself is always searched on the server (paged by TaskSearchQuery),
+ * because a local high-water mark cannot detect tasks deleted on the server.
+ */
+public class TaskInstanceCache {
+	private static final int FILE_MAGIC = 0x41524743;
+	/** Version 2 contains only tasks executed once, files of version 1 may contain recurring tasks and are discarded */
+	private static final int FILE_VERSION = 2;
+
+	private static final Map<String, TaskInstanceCache> CACHES = new ConcurrentHashMap<>();
+
+	private final File cacheFile;
+	private int maximumInstances;
+
+	/** Access ordered for LRU eviction */
+	private final LinkedHashMap<Integer, CachedTask> cachedTasks = new LinkedHashMap<>(16, 0.75f, true);
+	private int cachedInstances = 0;
+	private boolean loaded = false;
+	private boolean changed = false;
+
+	public static TaskInstanceCache getInstance(final File cacheDirectory, final String argoWfSchedulerBaseUrl, final int maximumInstances) {
+		final File cacheFile = new File(cacheDirectory, argoWfSchedulerBaseUrl.replaceAll("[^A-Za-z0-9._-]", "_") + ".cache");
+		final TaskInstanceCache taskInstanceCache = CACHES.computeIfAbsent(cacheFile.getAbsolutePath(), key -> new TaskInstanceCache(cacheFile));
+		taskInstanceCache.setMaximumInstances(maximumInstances);
+		return taskInstanceCache;
+	}
+
+	private TaskInstanceCache(final File cacheFile) {
+		this.cacheFile = cacheFile;
+	}
+
+	public synchronized void setMaximumInstances(final int maximumInstances) {
+		this.maximumInstances = maximumInstances;
+		evict();
+	}
+
+	/**
+	 * Returns a copy of the cached task, if it was cached with the given update time or later, otherwise null
+	 */
+	public synchronized TaskStatus get(final int taskID, final ZonedDateTime taskUpdated) {
+		load();
+		final CachedTask cachedTask = cachedTasks.get(taskID);
+		if (cachedTask == null || cachedTask.updated == null || taskUpdated == null || taskUpdated.toInstant().isAfter(cachedTask.updated)) {
+			return null;
+		} else {
+			return cachedTask.toTaskStatus();
+		}
+	}
+
+	/**
+	 * Caches the task, if it is executed only once and all its task instances are finished
+	 */
+	public synchronized void put(final TaskStatus taskStatus) {
+		if (taskStatus.getTaskID() == null || taskStatus.getUpdated() == null || taskStatus.getInstances() == null || taskStatus.getParameters() == null || !taskStatus.isRunNever()) {
+			return;
+		}
+		for (final TaskInstanceStatus instanceStatus : taskStatus.getInstances().values()) {
+			if (!instanceStatus.isFinished()) {
+				return;
+			}
+		}
+
+		load();
+		final CachedTask existingTask = cachedTasks.get(taskStatus.getTaskID());
+		if (existingTask != null && existingTask.updated.equals(taskStatus.getUpdated().toInstant()) && existingTask.instances.length == taskStatus.getInstances().size()) {
+			return;
+		}
+
+		final CachedTask cachedTask = new CachedTask(taskStatus);
+		final CachedTask replacedTask = cachedTasks.put(cachedTask.taskID, cachedTask);
+		if (replacedTask != null) {
+			cachedInstances -= replacedTask.instances.length;
+		}
+		cachedInstances += cachedTask.instances.length;
+		changed = true;
+		evict();
+	}
+
+	public synchronized int size() {
+		load();
+		return cachedTasks.size();
+	}
+
+	public synchronized void clear() {
+		cachedTasks.clear();
+		cachedInstances = 0;
+		loaded = true;
+		changed = true;
+	}
+
+	/**
+	 * Writes the cache file, if the cache was changed since it was read or last saved.
+	 * The file is replaced atomically, so a crash never leaves a partly written cache.
+	 */
+	public synchronized void save() throws IOException {
+		if (!changed) {
+			return;
+		}
+
+		if (!cacheFile.getParentFile().exists()) {
+			cacheFile.getParentFile().mkdirs();
+		}
+
+		final File tempFile = new File(cacheFile.getParentFile(), cacheFile.getName() + ".tmp");
+		try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+			outputStream.writeInt(FILE_MAGIC);
+			outputStream.writeInt(FILE_VERSION);
+			outputStream.writeInt(cachedTasks.size());
+			// Least recently used first, so reading restores the LRU order
+			for (final CachedTask cachedTask : cachedTasks.values()) {
+				cachedTask.write(outputStream);
+			}
+		}
+		Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		changed = false;
+	}
+
+	private void load() {
+		if (loaded) {
+			return;
+		}
+
+		loaded = true;
+		if (cacheFile.exists()) {
+			// Read completely, so all lengths read from the file can be checked against the remaining bytes (available) before anything is allocated
+			try (DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(cacheFile.toPath())))) {
+				if (inputStream.readInt() == FILE_MAGIC && inputStream.readInt() == FILE_VERSION) {
+					final int taskCount = readLength(inputStream, 4);
+					for (int i = 0; i < taskCount; i++) {
+						final CachedTask cachedTask = CachedTask.read(inputStream);
+						cachedTasks.put(cachedTask.taskID, cachedTask);
+						cachedInstances += cachedTask.instances.length;
+					}
+				}
+			} catch (@SuppressWarnings("unused") final IOException | RuntimeException e) {
+				// Unreadable or corrupt cache files are replaced with the next save
+				cachedTasks.clear();
+				cachedInstances = 0;
+				changed = true;
+			}
+			evict();
+		}
+	}
+
+	private void evict() {
+		final Iterator<Entry<Integer, CachedTask>> iterator = cachedTasks.entrySet().iterator();
+		while (cachedInstances > maximumInstances && iterator.hasNext()) {
+			cachedInstances -= iterator.next().getValue().instances.length;
+			iterator.remove();
+			changed = true;
+		}
+	}
+
+	private static class CachedTask {
+		private final int taskID;
+		private final String taskName;
+		private final String workflowName;
+		private final Instant created;
+		private final Instant updated;
+		private final String[] parameters;
+		private final CachedInstance[] instances;
+
+		private CachedTask(final int taskID, final String taskName, final String workflowName, final Instant created, final Instant updated, final String[] parameters, final CachedInstance[] instances) {
+			this.taskID = taskID;
+			this.taskName = taskName;
+			this.workflowName = workflowName;
+			this.created = created;
+			this.updated = updated;
+			this.parameters = parameters;
+			this.instances = instances;
+		}
+
+		private CachedTask(final TaskStatus taskStatus) {
+			taskID = taskStatus.getTaskID();
+			taskName = taskStatus.getTaskName();
+			workflowName = taskStatus.getWorkflowName();
+			created = toInstant(taskStatus.getCreated());
+			updated = toInstant(taskStatus.getUpdated());
+
+			// Names and values alternating
+			parameters = new String[taskStatus.getParameters().size() * 2];
+			int parameterIndex = 0;
+			for (final Entry<String, String> parameter : taskStatus.getParameters().entrySet()) {
+				parameters[parameterIndex++] = parameter.getKey();
+				parameters[parameterIndex++] = parameter.getValue();
+			}
+
+			instances = new CachedInstance[taskStatus.getInstances().size()];
+			int instanceIndex = 0;
+			for (final TaskInstanceStatus instanceStatus : taskStatus.getInstances().values()) {
+				instances[instanceIndex++] = new CachedInstance(instanceStatus);
+			}
+		}
+
+		private TaskStatus toTaskStatus() {
+			final TaskStatus taskStatus = new TaskStatus();
+			taskStatus.setTaskID(taskID);
+			taskStatus.setTaskName(taskName);
+			taskStatus.setWorkflowName(workflowName);
+			taskStatus.setCreated(toZonedDateTime(created));
+			taskStatus.setUpdated(toZonedDateTime(updated));
+			taskStatus.setCronExpression(ArgoWfSchedulerClient.CRON_EXPRESSION_RUN_NEVER);
+
+			final Map<String, String> parametersMap = new LinkedHashMap<>();
+			for (int i = 0; i < parameters.length; i += 2) {
+				parametersMap.put(parameters[i], parameters[i + 1]);
+			}
+			taskStatus.setParameters(parametersMap);
+
+			final Map<Integer, TaskInstanceStatus> instancesMap = new LinkedHashMap<>();
+			for (final CachedInstance cachedInstance : instances) {
+				instancesMap.put(cachedInstance.taskInstanceID, cachedInstance.toTaskInstanceStatus(taskID));
+			}
+			taskStatus.setInstances(instancesMap);
+
+			return taskStatus;
+		}
+
+		private void write(final DataOutputStream outputStream) throws IOException {
+			outputStream.writeInt(taskID);
+			writeString(outputStream, taskName);
+			writeString(outputStream, workflowName);
+			writeInstant(outputStream, created);
+			writeInstant(outputStream, updated);
+			outputStream.writeInt(parameters.length);
+			for (final String parameter : parameters) {
+				writeString(outputStream, parameter);
+			}
+			outputStream.writeInt(instances.length);
+			for (final CachedInstance cachedInstance : instances) {
+				cachedInstance.write(outputStream);
+			}
+		}
+
+		private static CachedTask read(final DataInputStream inputStream) throws IOException {
+			final int taskID = inputStream.readInt();
+			final String taskName = readString(inputStream);
+			final String workflowName = readString(inputStream);
+			final Instant created = readInstant(inputStream);
+			final Instant updated = readInstant(inputStream);
+			final String[] parameters = new String[readLength(inputStream, 4)];
+			for (int i = 0; i < parameters.length; i++) {
+				parameters[i] = readString(inputStream);
+			}
+			final CachedInstance[] instances = new CachedInstance[readLength(inputStream, 4)];
+			for (int i = 0; i < instances.length; i++) {
+				instances[i] = CachedInstance.read(inputStream);
+			}
+			return new CachedTask(taskID, taskName, workflowName, created, updated, parameters, instances);
+		}
+	}
+
+	private static class CachedInstance {
+		private final int taskInstanceID;
+		private final String workflowId;
+		private final Instant created;
+		private final Instant updated;
+		private final String status;
+		private final String logMessage;
+
+		private CachedInstance(final int taskInstanceID, final String workflowId, final Instant created, final Instant updated, final String status, final String logMessage) {
+			this.taskInstanceID = taskInstanceID;
+			this.workflowId = workflowId;
+			this.created = created;
+			this.updated = updated;
+			this.status = status;
+			this.logMessage = logMessage;
+		}
+
+		private CachedInstance(final TaskInstanceStatus instanceStatus) {
+			taskInstanceID = instanceStatus.getTaskInstanceID();
+			workflowId = instanceStatus.getWorkflowId();
+			created = toInstant(instanceStatus.getCreated());
+			updated = toInstant(instanceStatus.getUpdated());
+			status = instanceStatus.getStatus();
+			logMessage = instanceStatus.getLogMessage();
+		}
+
+		private TaskInstanceStatus toTaskInstanceStatus(final int taskID) {
+			final TaskInstanceStatus instanceStatus = new TaskInstanceStatus();
+			instanceStatus.setTaskID(taskID);
+			instanceStatus.setTaskInstanceID(taskInstanceID);
+			instanceStatus.setWorkflowId(workflowId);
+			instanceStatus.setCreated(toZonedDateTime(created));
+			instanceStatus.setUpdated(toZonedDateTime(updated));
+			instanceStatus.setStatus(status);
+			instanceStatus.setLogMessage(logMessage);
+			return instanceStatus;
+		}
+
+		private void write(final DataOutputStream outputStream) throws IOException {
+			outputStream.writeInt(taskInstanceID);
+			writeString(outputStream, workflowId);
+			writeInstant(outputStream, created);
+			writeInstant(outputStream, updated);
+			writeString(outputStream, status);
+			writeString(outputStream, logMessage);
+		}
+
+		private static CachedInstance read(final DataInputStream inputStream) throws IOException {
+			return new CachedInstance(inputStream.readInt(), readString(inputStream), readInstant(inputStream), readInstant(inputStream), readString(inputStream), readString(inputStream));
+		}
+	}
+
+	private static Instant toInstant(final ZonedDateTime dateTime) {
+		return dateTime == null ? null : dateTime.toInstant();
+	}
+
+	private static ZonedDateTime toZonedDateTime(final Instant instant) {
+		return instant == null ? null : ZonedDateTime.ofInstant(instant, ZoneId.systemDefault());
+	}
+
+	/**
+	 * Length prefixed UTF-8, because DataOutputStream.writeUTF is limited to 64 KB (log messages may be longer)
+	 */
+	private static void writeString(final DataOutputStream outputStream, final String value) throws IOException {
+		if (value == null) {
+			outputStream.writeInt(-1);
+		} else {
+			final byte[] data = value.getBytes(StandardCharsets.UTF_8);
+			outputStream.writeInt(data.length);
+			outputStream.write(data);
+		}
+	}
+
+	private static String readString(final DataInputStream inputStream) throws IOException {
+		final int length = inputStream.readInt();
+		if (length == -1) {
+			return null;
+		} else if (length < 0 || length > inputStream.available()) {
+			throw new IOException("Corrupt cache file: Invalid string length " + length);
+		} else {
+			final byte[] data = new byte[length];
+			inputStream.readFully(data);
+			return new String(data, StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * Reads the number of following elements, each of them needs at least minimumElementBytes of the remaining file
+	 */
+	private static int readLength(final DataInputStream inputStream, final int minimumElementBytes) throws IOException {
+		final int length = inputStream.readInt();
+		if (length < 0 || (long) length * minimumElementBytes > inputStream.available()) {
+			throw new IOException("Corrupt cache file: Invalid number of elements " + length);
+		}
+		return length;
+	}
+
+	private static void writeInstant(final DataOutputStream outputStream, final Instant instant) throws IOException {
+		outputStream.writeBoolean(instant != null);
+		if (instant != null) {
+			outputStream.writeLong(instant.getEpochSecond());
+			outputStream.writeInt(instant.getNano());
+		}
+	}
+
+	private static Instant readInstant(final DataInputStream inputStream) throws IOException {
+		if (inputStream.readBoolean()) {
+			return Instant.ofEpochSecond(inputStream.readLong(), inputStream.readInt());
+		} else {
+			return null;
+		}
+	}
+}
@@ -15,6 +15,20 @@ public class TaskInstanceStatus {
 	private String logMessage;
 	private TaskStatus taskStatus;
 
+	public TaskInstanceStatus() {
+	}
+
+	public TaskInstanceStatus(final TaskInstanceStatus other) {
+		taskID = other.taskID;
+		taskInstanceID = other.taskInstanceID;
+		workflowId = other.workflowId;
+		created = other.created;
+		updated = other.updated;
+		status = other.status;
+		logMessage = other.logMessage;
+		taskStatus = other.taskStatus;
+	}
+
 	public Integer getTaskID() {
 		return taskID;
 	}
@@ -87,6 +101,13 @@ public class TaskInstanceStatus {
 		return taskStatus;
 	}
 
+	/**
+	 * Instances in state PENDING or RUNNING may still change their status
+	 */
+	public boolean isFinished() {
+		return !"PENDING".equals(status) && !"RUNNING".equals(status);
+	}
+
 	@Override
 	public String toString() {
 		return "'" + workflowId + "' " + status + " at " + DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_FORMAT_NO_TIMEZONE, updated.withZoneSameInstant(ZoneId.systemDefault())) + "\n";
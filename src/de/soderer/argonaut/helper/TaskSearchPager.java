@@ -0,0 +1,32 @@
+package de.soderer.argonaut.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Iterates the pages of a /tasks/search result. Each page is requested only when nextPage() is called.
+ */
+public class TaskSearchPager {
+	private final ArgoWfSchedulerClient argoWfSchedulerClient;
+	private TaskSearchQuery nextPageQuery;
+
+	public TaskSearchPager(final ArgoWfSchedulerClient argoWfSchedulerClient, final TaskSearchQuery query) {
+		this.argoWfSchedulerClient = argoWfSchedulerClient;
+		nextPageQuery = query.getPage() == null ? new TaskSearchQuery(query).setPage(0) : query;
+	}
+
+	public boolean hasNextPage() {
+		return nextPageQuery != null;
+	}
+
+	public List<TaskStatus> nextPage() throws Exception {
+		if (nextPageQuery == null) {
+			throw new Exception("No more pages available");
+		}
+
+		final List<TaskStatus> page = new ArrayList<>();
+		argoWfSchedulerClient.getAllTasks(nextPageQuery, page::add);
+		nextPageQuery = nextPageQuery.isLastPage(page.size()) ? null : nextPageQuery.nextPage();
+		return page;
+	}
+}
@@ -0,0 +1,138 @@
+package de.soderer.argonaut.helper;
+
+import java.time.ZonedDateTime;
+
+import de.soderer.utilities.DateUtilities;
+
+/**
+ * Server side filter, sort and paging parameters of a /tasks/search request.
+ * Parameters which are not set are not sent, so an empty query returns all tasks unpaged.
+ */
+public class TaskSearchQuery {
+	public static final String SORT_CREATED_DESCENDING = "createdAt,desc";
+	public static final String SORT_UPDATED_DESCENDING = "updatedAt,desc";
+
+	private String workflowTemplateName = null;
+	private ZonedDateTime createdAfter = null;
+	private ZonedDateTime updatedAfter = null;
+	private String sort = null;
+	private Integer page = null;
+	private Integer size = null;
+
+	public TaskSearchQuery() {
+	}
+
+	public TaskSearchQuery(final TaskSearchQuery other) {
+		workflowTemplateName = other.workflowTemplateName;
+		createdAfter = other.createdAfter;
+		updatedAfter = other.updatedAfter;
+		sort = other.sort;
+		page = other.page;
+		size = other.size;
+	}
+
+	public String getWorkflowTemplateName() {
+		return workflowTemplateName;
+	}
+
+	public TaskSearchQuery setWorkflowTemplateName(final String workflowTemplateName) {
+		this.workflowTemplateName = workflowTemplateName;
+		return this;
+	}
+
+	public ZonedDateTime getCreatedAfter() {
+		return createdAfter;
+	}
+
+	public TaskSearchQuery setCreatedAfter(final ZonedDateTime createdAfter) {
+		this.createdAfter = createdAfter;
+		return this;
+	}
+
+	public ZonedDateTime getUpdatedAfter() {
+		return updatedAfter;
+	}
+
+	/**
+	 * Only a hint for the server, servers without this filter ignore it, so callers must filter the result themselves
+	 */
+	public TaskSearchQuery setUpdatedAfter(final ZonedDateTime updatedAfter) {
+		this.updatedAfter = updatedAfter;
+		return this;
+	}
+
+	public String getSort() {
+		return sort;
+	}
+
+	/**
+	 * Sort expression in the form "field,asc" or "field,desc"
+	 */
+	public TaskSearchQuery setSort(final String sort) {
+		this.sort = sort;
+		return this;
+	}
+
+	public Integer getPage() {
+		return page;
+	}
+
+	/**
+	 * Zero based page index, only used if a page size is set
+	 */
+	public TaskSearchQuery setPage(final Integer page) {
+		this.page = page;
+		return this;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public TaskSearchQuery setSize(final Integer size) {
+		this.size = size;
+		return this;
+	}
+
+	public boolean isPaged() {
+		return size != null && size > 0;
+	}
+
+	/**
+	 * Query for the page following this one
+	 */
+	public TaskSearchQuery nextPage() {
+		return new TaskSearchQuery(this).setPage(page == null ? 1 : page + 1);
+	}
+
+	/**
+	 * A page is the last one, if the server returned less tasks than requested
+	 */
+	public boolean isLastPage(final int receivedTaskCount) {
+		return !isPaged() || receivedTaskCount < size;
+	}
+
+	public void addUrlParameters(final PooledHttpRequest request) {
+		if (workflowTemplateName != null) {
+			request.addUrlParameter("name", workflowTemplateName);
+		}
+		if (createdAfter != null) {
+			request.addUrlParameter("createdAfter", DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT, createdAfter));
+		}
+		if (updatedAfter != null) {
+			request.addUrlParameter("updatedAfter", DateUtilities.formatDate(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT, updatedAfter));
+		}
+		if (sort != null) {
+			request.addUrlParameter("sort", sort);
+		}
+		if (isPaged()) {
+			request.addUrlParameter("page", page == null ? 0 : page);
+			request.addUrlParameter("size", size);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "name=" + workflowTemplateName + ", createdAfter=" + createdAfter + ", updatedAfter=" + updatedAfter + ", sort=" + sort + ", page=" + page + ", size=" + size;
+	}
+}
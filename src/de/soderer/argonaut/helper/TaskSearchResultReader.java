@@ -0,0 +1,100 @@
+package de.soderer.argonaut.helper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.soderer.json.JsonArray;
+import de.soderer.json.JsonNode;
+import de.soderer.json.JsonObject;
+import de.soderer.json.JsonReader;
+import de.soderer.json.JsonReader.JsonToken;
+import de.soderer.utilities.DateUtilities;
+
+/**
+ * Reader for the JSON array of a /tasks/search response.
+ * Reads directly from the response stream one array item at a time, so memory usage does not depend on the number of tasks in the response.
+ * Tasks without embedded "instances" or "parameters" are returned with null instances or parameters.
+ */
+public class TaskSearchResultReader implements Closeable {
+	private final JsonReader jsonReader;
+	private boolean arrayOpened = false;
+
+	public TaskSearchResultReader(final InputStream inputStream, final Charset encoding) {
+		jsonReader = new JsonReader(inputStream, encoding);
+	}
+
+	/**
+	 * Returns the next task of the result array or null at its end
+	 */
+	public TaskStatus readNextTaskStatus() throws Exception {
+		if (!arrayOpened) {
+			if (jsonReader.readNextToken() != JsonToken.JsonArray_Open) {
+				throw new Exception("Invalid Tasks JSON data: JsonArray expected");
+			}
+			arrayOpened = true;
+		}
+
+		if (!jsonReader.readNextJsonNode()) {
+			return null;
+		} else if (!(jsonReader.getCurrentObject() instanceof JsonObject)) {
+			throw new Exception("Invalid Tasks JSON data: JsonObject expected as array item");
+		} else {
+			return readTaskStatus((JsonObject) jsonReader.getCurrentObject());
+		}
+	}
+
+	private static TaskStatus readTaskStatus(final JsonObject jsonObject) {
+		final TaskStatus status = new TaskStatus();
+
+		status.setTaskID((Integer) jsonObject.getSimpleValue("id"));
+		status.setTaskName((String) jsonObject.getSimpleValue("name"));
+		status.setWorkflowName((String) jsonObject.getSimpleValue("workflowRef"));
+		status.setCreated(readDate(jsonObject, "createdAt"));
+		status.setUpdated(readDate(jsonObject, "updatedAt"));
+		status.setCronExpression((String) jsonObject.getSimpleValue("cronExpression"));
+
+		if (jsonObject.get("instances") instanceof JsonArray) {
+			final Map<Integer, TaskInstanceStatus> instances = new LinkedHashMap<>();
+			for (final JsonNode instanceItem : ((JsonArray) jsonObject.get("instances")).items()) {
+				final TaskInstanceStatus instanceStatus = ArgoWfSchedulerClient.readTaskInstanceStatus((JsonObject) instanceItem);
+				instances.put(instanceStatus.getTaskInstanceID(), instanceStatus);
+			}
+			status.setInstances(instances);
+		}
+
+		if (jsonObject.get("parameters") instanceof JsonArray) {
+			final Map<String, String> parameters = new LinkedHashMap<>();
+			for (final JsonNode parameterItem : ((JsonArray) jsonObject.get("parameters")).items()) {
+				final JsonObject parameterJsonObject = (JsonObject) parameterItem;
+				parameters.put((String) parameterJsonObject.getSimpleValue("name"), (String) parameterJsonObject.getSimpleValue("value"));
+			}
+			status.setParameters(parameters);
+		}
+
+		return status;
+	}
+
+	private static ZonedDateTime readDate(final JsonObject jsonObject, final String key) {
+		final String value = (String) jsonObject.getSimpleValue(key);
+		if (value == null) {
+			return null;
+		} else {
+			return DateUtilities.parseZonedDateTime(DateUtilities.ISO_8601_DATETIME_WITH_NANOS_FORMAT, value, ZoneId.systemDefault());
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			jsonReader.close();
+		} catch (final Exception e) {
+			throw e instanceof IOException ? (IOException) e : new IOException("Cannot close Tasks JSON reader: " + e.getMessage(), e);
+		}
+	}
+}
@@ -9,6 +9,7 @@ public class TaskStatus {
 	private String workflowName;
 	private ZonedDateTime created;
 	private ZonedDateTime updated;
+	private String cronExpression;
 	private Map<Integer, TaskInstanceStatus> instances;
 	private Map<String, String> parameters;
 
@@ -57,6 +58,30 @@ public class TaskStatus {
 		return this;
 	}
 
+	public String getCronExpression() {
+		return cronExpression;
+	}
+
+	public TaskStatus setCronExpression(final String cronExpression) {
+		this.cronExpression = cronExpression;
+		return this;
+	}
+
+	/**
+	 * Tasks created to be executed only once get no further task instances by their schedule
+	 */
+	public boolean isRunNever() {
+		return ArgoWfSchedulerClient.CRON_EXPRESSION_RUN_NEVER.equals(cronExpression);
+	}
+
+	/**
+	 * Tasks with a schedule, which creates new task instances without updating the task.
+	 * Tasks without known cron expression are not regarded as recurring.
+	 */
+	public boolean isRecurring() {
+		return cronExpression != null && !isRunNever();
+	}
+
 	public Map<Integer, TaskInstanceStatus> getInstances() {
 		return instances;
 	}
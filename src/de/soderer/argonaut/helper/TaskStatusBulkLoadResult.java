@@ -0,0 +1,91 @@
+package de.soderer.argonaut.helper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskStatusBulkLoadResult {
+	private final List<TaskStatus> taskStatusList = new ArrayList<>();
+	private final List<TaskInstanceStatus> refreshedTaskInstanceStatusList = new ArrayList<>();
+	private int executedRequests = 0;
+	private int staleInstanceRefreshes = 0;
+	private int cacheHits = 0;
+	private boolean lastPage = true;
+
+	public List<TaskStatus> getTaskStatusList() {
+		return taskStatusList;
+	}
+
+	public TaskStatusBulkLoadResult addTaskStatus(final TaskStatus taskStatus) {
+		taskStatusList.add(taskStatus);
+		return this;
+	}
+
+	/**
+	 * Task instances of unchanged tasks, which were refreshed on request of a delta poll
+	 */
+	public List<TaskInstanceStatus> getRefreshedTaskInstanceStatusList() {
+		return refreshedTaskInstanceStatusList;
+	}
+
+	public TaskStatusBulkLoadResult addRefreshedTaskInstanceStatus(final TaskInstanceStatus taskInstanceStatus) {
+		refreshedTaskInstanceStatusList.add(taskInstanceStatus);
+		return this;
+	}
+
+	/**
+	 * False if the result is a page of a paged search and further pages are available
+	 */
+	public boolean isLastPage() {
+		return lastPage;
+	}
+
+	public TaskStatusBulkLoadResult setLastPage(final boolean lastPage) {
+		this.lastPage = lastPage;
+		return this;
+	}
+
+	public synchronized TaskStatusBulkLoadResult increaseExecutedRequests() {
+		executedRequests++;
+		return this;
+	}
+
+	public synchronized TaskStatusBulkLoadResult increaseStaleInstanceRefreshes() {
+		staleInstanceRefreshes++;
+		return this;
+	}
+
+	/**
+	 * Number of http requests executed for this result, including the refreshes of stale task instances
+	 */
+	public synchronized int getExecutedRequests() {
+		return executedRequests + staleInstanceRefreshes;
+	}
+
+	public synchronized TaskStatusBulkLoadResult increaseCacheHits() {
+		cacheHits++;
+		return this;
+	}
+
+	/**
+	 * Number of tasks taken from the TaskInstanceCache instead of requesting their details
+	 */
+	public synchronized int getCacheHits() {
+		return cacheHits;
+	}
+
+	public synchronized int getStaleInstanceRefreshes() {
+		return staleInstanceRefreshes;
+	}
+
+	/**
+	 * Number of http requests saved compared to one search request followed by one GET /tasks/{taskID} per task
+	 */
+	public synchronized int getSavedRequests() {
+		return (1 + taskStatusList.size() + staleInstanceRefreshes) - getExecutedRequests();
+	}
+
+	@Override
+	public String toString() {
+		return taskStatusList.size() + " tasks loaded by " + getExecutedRequests() + " requests (" + getSavedRequests() + " requests saved, " + getCacheHits() + " tasks from cache)";
+	}
+}
@@ -0,0 +1,10 @@
+package de.soderer.argonaut.helper;
+
+/**
+ * Receives the results of a task status bulk load while it is still running
+ */
+public interface TaskStatusLoadListener {
+	void receiveTaskCount(int taskCount);
+
+	void receiveTaskStatus(TaskStatus taskStatus);
+}
@@ -0,0 +1,118 @@
+package de.soderer.argonaut.helper;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Response cache for the rarely changing workflow template data (workflow names and template parameters) of one server and client identity.
+ * Responses younger than the time to live are used without request.
+ * Older responses are revalidated by a conditional request (If-None-Match / If-Modified-Since), if the server sent an ETag or Last-Modified header.
+ * Cached values are shared and must not be modified.
+ */
+public class WorkflowTemplateCache {
+	public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+
+	private static final Map<String, WorkflowTemplateCache> CACHES = new ConcurrentHashMap<>();
+
+	private final Map<String, CachedResponse> cachedResponses = new ConcurrentHashMap<>();
+	private volatile Duration timeToLive = DEFAULT_TIME_TO_LIVE;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong revalidations = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	public static WorkflowTemplateCache getInstance(final String clientIdentity) {
+		return CACHES.computeIfAbsent(clientIdentity, key -> new WorkflowTemplateCache());
+	}
+
+	private WorkflowTemplateCache() {
+	}
+
+	/**
+	 * Duration a cached response is used without asking the server. Zero revalidates each response on every use.
+	 */
+	public WorkflowTemplateCache setTimeToLive(final Duration timeToLive) {
+		this.timeToLive = timeToLive == null || timeToLive.isNegative() ? Duration.ZERO : timeToLive;
+		return this;
+	}
+
+	public Duration getTimeToLive() {
+		return timeToLive;
+	}
+
+	/**
+	 * Returns the cached response for the url, which may need revalidation, or null if there is none
+	 */
+	public CachedResponse get(final String url) {
+		return cachedResponses.get(url);
+	}
+
+	public boolean isFresh(final CachedResponse cachedResponse) {
+		if (cachedResponse != null && System.currentTimeMillis() - cachedResponse.validatedMillis < timeToLive.toMillis()) {
+			hits.incrementAndGet();
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	public void put(final String url, final Object value, final PooledHttpResponse response) {
+		cachedResponses.put(url, new CachedResponse(value, response.getHeaders().get("ETag"), response.getHeaders().get("Last-Modified")));
+		misses.incrementAndGet();
+	}
+
+	/**
+	 * Server answered "304 Not Modified" for the cached response
+	 */
+	public void revalidated(final CachedResponse cachedResponse) {
+		cachedResponse.validatedMillis = System.currentTimeMillis();
+		revalidations.incrementAndGet();
+	}
+
+	public void invalidate() {
+		cachedResponses.clear();
+	}
+
+	public long getHits() {
+		return hits.get();
+	}
+
+	public long getRevalidations() {
+		return revalidations.get();
+	}
+
+	public long getMisses() {
+		return misses.get();
+	}
+
+	public static class CachedResponse {
+		private final Object value;
+		private final String eTag;
+		private final String lastModified;
+		private volatile long validatedMillis = System.currentTimeMillis();
+
+		private CachedResponse(final Object value, final String eTag, final String lastModified) {
+			this.value = value;
+			this.eTag = eTag;
+			this.lastModified = lastModified;
+		}
+
+		public Object getValue() {
+			return value;
+		}
+
+		/**
+		 * Adds the conditional request headers for revalidation of this response
+		 */
+		public void addConditionalHeaders(final PooledHttpRequest request) {
+			if (eTag != null) {
+				request.addHeader("If-None-Match", eTag);
+			}
+			if (lastModified != null) {
+				request.addHeader("If-Modified-Since", lastModified);
+			}
+		}
+	}
+}
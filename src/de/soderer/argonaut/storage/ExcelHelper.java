@@ -1,21 +1,132 @@
 package de.soderer.argonaut.storage;
 
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler.SheetContentsHandler;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
 
+/**
+ * Reads Excel files with the XSSF event model, so only the shared strings and the current row are kept in memory
+ */
 public class ExcelHelper {
+	/**
+	 * Receives the rows of a sheet one at a time
+	 */
+	public interface ExcelRowHandler {
+		/**
+		 * @param rowNumber Row number within the sheet, starting at 0. Empty rows are skipped.
+		 * @param cellValues Formatted cell values by column index, empty cells are missing
+		 */
+		void handleRow(int rowNumber, Map<Integer, String> cellValues) throws Exception;
+	}
+
 	public static List<String> getExcelSheetNames(final File importExcelFile) throws Exception {
-		try (FileInputStream inputStream = new FileInputStream(importExcelFile);
-				final XSSFWorkbook workbook = new XSSFWorkbook(inputStream)) {
+		final OPCPackage excelPackage = OPCPackage.open(importExcelFile, PackageAccess.READ);
+		try {
 			final List<String> sheetNames = new ArrayList<>();
-			for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
-				sheetNames.add(workbook.getSheetAt(i).getSheetName());
+			final XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) new XSSFReader(excelPackage).getSheetsData();
+			while (sheetIterator.hasNext()) {
+				try (InputStream sheetInputStream = sheetIterator.next()) {
+					sheetNames.add(sheetIterator.getSheetName());
+				}
 			}
 			return sheetNames;
+		} finally {
+			// Read only packages are closed without saving by revert
+			excelPackage.revert();
+		}
+	}
+
+	/**
+	 * Streams the rows of a sheet to the rowHandler without building the workbook in memory
+	 */
+	public static void readSheetRows(final File importExcelFile, final int sheetIndex, final ExcelRowHandler rowHandler) throws Exception {
+		final OPCPackage excelPackage = OPCPackage.open(importExcelFile, PackageAccess.READ);
+		try {
+			final XSSFReader xssfReader = new XSSFReader(excelPackage);
+			final ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(excelPackage);
+			final XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+			int currentSheetIndex = 0;
+			while (sheetIterator.hasNext()) {
+				try (InputStream sheetInputStream = sheetIterator.next()) {
+					if (currentSheetIndex++ == sheetIndex) {
+						final XMLReader xmlReader = XMLHelper.newXMLReader();
+						xmlReader.setContentHandler(new XSSFSheetXMLHandler(xssfReader.getStylesTable(), null, sharedStrings, new RowCollector(rowHandler), new DataFormatter(), false));
+						try {
+							xmlReader.parse(new InputSource(sheetInputStream));
+						} catch (final RowHandlerException e) {
+							throw (Exception) e.getCause();
+						}
+						return;
+					}
+				}
+			}
+			throw new Exception("Excel file does not contain sheet with index " + sheetIndex);
+		} finally {
+			excelPackage.revert();
+		}
+	}
+
+	private static class RowCollector implements SheetContentsHandler {
+		private final ExcelRowHandler rowHandler;
+		private Map<Integer, String> cellValues;
+		private int lastColumnIndex;
+
+		public RowCollector(final ExcelRowHandler rowHandler) {
+			this.rowHandler = rowHandler;
+		}
+
+		@Override
+		public void startRow(final int rowNumber) {
+			cellValues = new HashMap<>();
+			lastColumnIndex = -1;
+		}
+
+		@Override
+		public void endRow(final int rowNumber) {
+			try {
+				rowHandler.handleRow(rowNumber, cellValues);
+			} catch (final Exception e) {
+				throw new RowHandlerException(e);
+			}
+		}
+
+		@Override
+		public void cell(final String cellReference, final String formattedValue, final XSSFComment comment) {
+			// Cell references are optional in the file format, so cells without one follow their predecessor
+			lastColumnIndex = cellReference == null ? lastColumnIndex + 1 : new CellReference(cellReference).getCol();
+			cellValues.put(lastColumnIndex, formattedValue);
+		}
+
+		@Override
+		public void headerFooter(final String text, final boolean isHeader, final String tagName) {
+			// Headers and footers are not needed
+		}
+	}
+
+	/**
+	 * Transports the checked error of an ExcelRowHandler through the SAX parser
+	 */
+	private static class RowHandlerException extends RuntimeException {
+		private static final long serialVersionUID = -6150324977210874552L;
+
+		public RowHandlerException(final Exception cause) {
+			super(cause);
 		}
 	}
 }
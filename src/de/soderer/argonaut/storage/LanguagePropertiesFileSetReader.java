@@ -4,6 +4,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FilenameFilter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -42,44 +44,69 @@ public class LanguagePropertiesFileSetReader {
 			throw new Exception("Properties directory '" + propertiesDirectory + "' is not a directory");
 		}
 
+		final LanguagePropertyTable languagePropertyTable = new LanguagePropertyTable();
 		final List<LanguageProperty> languageProperties = new ArrayList<>();
 
+		// Index of the properties by path and key, the list above keeps their order of appearance
+		final Map<String, Map<String, LanguageProperty>> languagePropertiesByPathAndKey = new HashMap<>();
+
 		final FilenameFilter fileFilter = new WildcardFilenameFilter(propertySetName + "*" + propertiesFileExtension);
 
-		for (final File propertyFile : propertiesDirectory.listFiles(fileFilter)) {
-			final String languageSign = getLanguageSignOfFilename(propertyFile.getName());
-			if (languageSign != null) {
-				try (PropertiesReader propertiesReader = new PropertiesReader(new FileInputStream(propertyFile))) {
-					propertiesReader.setReadKeysCaseInsensitive(readKeysCaseInsensitive);
-					final Map<String, String> languageEntries = propertiesReader.read();
-					final String path = Utilities.replaceUsersHomeByTilde(propertyFile.getAbsolutePath().replace("_" + languageSign, "").replace(propertiesFileExtension, ""));
-					for (final Entry<String, String> entry : languageEntries.entrySet()) {
-						LanguageProperty property = null;
-						for (final LanguageProperty languageProperty : languageProperties) {
-							if (languageProperty.getPath().equals(path) && languageProperty.getKey().equals(entry.getKey())) {
-								property = languageProperty;
-								break;
-							}
-						}
-						if (property == null) {
-							property = new LanguageProperty(Utilities.replaceUsersHomeByTilde(new File(propertiesDirectory, propertySetName).getAbsolutePath()), entry.getKey());
-							property.setOriginalIndex(languageProperties.size() + 1);
-							languageProperties.add(property);
-						}
-						if (Utilities.isNotEmpty(propertiesReader.getComments().get(entry.getKey())) && Utilities.isEmpty(property.getComment())) {
-							property.setComment(propertiesReader.getComments().get(entry.getKey()));
-						}
-						property.setLanguageValue(languageSign, entry.getValue());
+		// The files are parsed concurrently, but merged in the order of the file listing as before
+		final List<LanguagePropertiesFileContent> fileContents;
+		try {
+			fileContents = Arrays.stream(propertiesDirectory.listFiles(fileFilter))
+					.parallel()
+					.map(propertyFile -> readLanguagePropertiesFile(propertyFile, propertiesFileExtension, readKeysCaseInsensitive))
+					.collect(Collectors.toList());
+		} catch (final LanguagePropertiesFileReadException e) {
+			throw (Exception) e.getCause();
+		}
+
+		for (final LanguagePropertiesFileContent fileContent : fileContents) {
+			if (fileContent != null) {
+				for (final Entry<String, String> entry : fileContent.getEntries().entrySet()) {
+					final Map<String, LanguageProperty> languagePropertiesOfPath = languagePropertiesByPathAndKey.get(fileContent.getPath());
+					LanguageProperty property = languagePropertiesOfPath == null ? null : languagePropertiesOfPath.get(entry.getKey());
+					if (property == null) {
+						property = languagePropertyTable.addProperty(Utilities.replaceUsersHomeByTilde(new File(propertiesDirectory, propertySetName).getAbsolutePath()), entry.getKey());
+						property.setOriginalIndex(languageProperties.size() + 1);
+						languageProperties.add(property);
+						languagePropertiesByPathAndKey.computeIfAbsent(property.getPath(), k -> new HashMap<>()).put(property.getKey(), property);
+					}
+					if (Utilities.isNotEmpty(fileContent.getComments().get(entry.getKey())) && Utilities.isEmpty(property.getComment())) {
+						property.setComment(fileContent.getComments().get(entry.getKey()));
 					}
-				} catch (final Exception e) {
-					throw new Exception("Error when reading file: " + propertyFile.getAbsolutePath(), e);
+					property.setLanguageValue(fileContent.getLanguageSign(), entry.getValue());
 				}
 			}
 		}
 
+		// The table content is equal to the files now
+		languagePropertyTable.markUnmodified();
+
 		return languageProperties;
 	}
 
+	/**
+	 * Parses a single language properties file. Returns null for files without language sign.
+	 */
+	private static LanguagePropertiesFileContent readLanguagePropertiesFile(final File propertyFile, final String propertiesFileExtension, final boolean readKeysCaseInsensitive) {
+		final String languageSign = getLanguageSignOfFilename(propertyFile.getName());
+		if (languageSign == null) {
+			return null;
+		}
+
+		try (PropertiesReader propertiesReader = new PropertiesReader(new FileInputStream(propertyFile))) {
+			propertiesReader.setReadKeysCaseInsensitive(readKeysCaseInsensitive);
+			final Map<String, String> languageEntries = propertiesReader.read();
+			final String path = Utilities.replaceUsersHomeByTilde(propertyFile.getAbsolutePath().replace("_" + languageSign, "").replace(propertiesFileExtension, ""));
+			return new LanguagePropertiesFileContent(languageSign, path, languageEntries, propertiesReader.getComments());
+		} catch (final Exception e) {
+			throw new LanguagePropertiesFileReadException(new Exception("Error when reading file: " + propertyFile.getAbsolutePath(), e));
+		}
+	}
+
 	/**
 	 * Get language sign of a language properties filename
 	 */
@@ -121,4 +148,45 @@ public class LanguagePropertiesFileSetReader {
 
 		return languagePropertiesSetNames;
 	}
+
+	private static class LanguagePropertiesFileContent {
+		private final String languageSign;
+		private final String path;
+		private final Map<String, String> entries;
+		private final Map<String, String> comments;
+
+		public LanguagePropertiesFileContent(final String languageSign, final String path, final Map<String, String> entries, final Map<String, String> comments) {
+			this.languageSign = languageSign;
+			this.path = path;
+			this.entries = entries;
+			this.comments = comments;
+		}
+
+		public String getLanguageSign() {
+			return languageSign;
+		}
+
+		public String getPath() {
+			return path;
+		}
+
+		public Map<String, String> getEntries() {
+			return entries;
+		}
+
+		public Map<String, String> getComments() {
+			return comments;
+		}
+	}
+
+	/**
+	 * Transports the checked read error of a file out of the parallel stream
+	 */
+	private static class LanguagePropertiesFileReadException extends RuntimeException {
+		private static final long serialVersionUID = 4187503236329618421L;
+
+		public LanguagePropertiesFileReadException(final Exception cause) {
+			super(cause);
+		}
+	}
 }
@@ -1,12 +1,22 @@
 package de.soderer.argonaut.storage;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -17,16 +27,23 @@ public class LanguagePropertiesFileSetWriter {
 	public static final String LANGUAGE_SIGN_DEFAULT = "default";
 	public static final String DEFAULT_POPERTIES_FILE_EXTENSION = ".properties";
 
-	public static void write(final List<LanguageProperty> languageProperties, final File directory, final String languagePropertySetName, final boolean extendAndKeepExistingProperties) throws Exception {
-		write(languageProperties, directory, languagePropertySetName, extendAndKeepExistingProperties, DEFAULT_POPERTIES_FILE_EXTENSION);
+	public static List<File> write(final List<LanguageProperty> languageProperties, final File directory, final String languagePropertySetName, final boolean extendAndKeepExistingProperties) throws Exception {
+		return write(languageProperties, directory, languagePropertySetName, extendAndKeepExistingProperties, DEFAULT_POPERTIES_FILE_EXTENSION);
 	}
 
-	public static void write(final List<LanguageProperty> languageProperties, final File directory, final String languagePropertySetName, final boolean extendAndKeepExistingProperties, final String propertiesFileExtension) throws Exception {
-		final Set<String> languagePropertiesPaths = languageProperties.stream().map(o -> o.getPath()).collect(Collectors.toSet());
+	/**
+	 * Writes the language files of the sets of the given properties.
+	 * Files of unmodified properties and files with unchanged content are not touched, changed files are replaced atomically.
+	 * Returns the files actually written.
+	 */
+	public static List<File> write(final List<LanguageProperty> languageProperties, final File directory, final String languagePropertySetName, final boolean extendAndKeepExistingProperties, final String propertiesFileExtension) throws Exception {
+		// Sorting once and grouping by path keeps the properties of each path in the order of their original index
 		final Comparator<LanguageProperty> compareByPathAndIndex = Comparator.comparing(LanguageProperty::getPath).thenComparing(LanguageProperty::getOriginalIndex);
-		final List<LanguageProperty> sortedLanguageProperties = languageProperties.stream().sorted(compareByPathAndIndex).collect(Collectors.toList());
-		for (final String nextLanguagePropertiesPath : languagePropertiesPaths) {
-			final List<LanguageProperty> filteredLanguageProperties = sortedLanguageProperties.stream().filter(o -> o.getPath().equals(nextLanguagePropertiesPath)).collect(Collectors.toList());
+		final List<File> writtenFiles = new ArrayList<>();
+		final Map<String, List<LanguageProperty>> languagePropertiesByPath = languageProperties.stream().sorted(compareByPathAndIndex).collect(Collectors.groupingBy(LanguageProperty::getPath, LinkedHashMap::new, Collectors.toList()));
+		for (final Entry<String, List<LanguageProperty>> languagePropertiesEntry : languagePropertiesByPath.entrySet()) {
+			final String nextLanguagePropertiesPath = languagePropertiesEntry.getKey();
+			final List<LanguageProperty> filteredLanguageProperties = languagePropertiesEntry.getValue();
 
 			File propertiesDirectory;
 			String propertySetName;
@@ -56,19 +73,17 @@ public class LanguagePropertiesFileSetWriter {
 			}
 
 			final List<String> availableLanguageSigns = Utilities.sortButPutItemsFirst(getAvailableLanguageSignsOfProperties(filteredLanguageProperties), LANGUAGE_SIGN_DEFAULT);
+			final LanguagePropertyTable unmodifiedTable = getCompleteUnmodifiedTable(filteredLanguageProperties);
 			if (extendAndKeepExistingProperties) {
 				final List<LanguageProperty> existingProperties = LanguagePropertiesFileSetReader.read(propertiesDirectory, propertySetName, false);
 				if (existingProperties != null) {
-					for (final LanguageProperty existingProperty : existingProperties) {
-						boolean foundExistingProperty = false;
-						for (final LanguageProperty propertyToStore : filteredLanguageProperties) {
-							if (propertyToStore.getKey().equals(existingProperty.getKey())) {
-								foundExistingProperty = true;
-								break;
-							}
-						}
+					final Set<String> keysToStore = new HashSet<>();
+					for (final LanguageProperty propertyToStore : filteredLanguageProperties) {
+						keysToStore.add(propertyToStore.getKey());
+					}
 
-						if (!foundExistingProperty) {
+					for (final LanguageProperty existingProperty : existingProperties) {
+						if (!keysToStore.contains(existingProperty.getKey())) {
 							filteredLanguageProperties.add(existingProperty);
 						}
 					}
@@ -82,8 +97,15 @@ public class LanguagePropertiesFileSetWriter {
 				} else {
 					filename = propertySetName + "_" + languageSign + propertiesFileExtension;
 				}
+				final File propertiesFile = new File(propertiesDirectory, filename);
+
+				if (unmodifiedTable != null && !unmodifiedTable.isModified(languageSign) && propertiesFile.exists()) {
+					// Properties were read from this file and not changed since
+					continue;
+				}
 
-				try (PropertiesWriter propertiesWriter = new PropertiesWriter(new FileOutputStream(new File(propertiesDirectory, filename)))) {
+				final ByteArrayOutputStream contentStream = new ByteArrayOutputStream();
+				try (PropertiesWriter propertiesWriter = new PropertiesWriter(contentStream)) {
 					for (final LanguageProperty languageProperty : filteredLanguageProperties) {
 						if (languageProperty.containsLanguage(languageSign) && languageProperty.getLanguageValue(languageSign) != null) {
 							if (Utilities.isNotEmpty(languageProperty.getComment())) {
@@ -93,8 +115,66 @@ public class LanguagePropertiesFileSetWriter {
 						}
 					}
 				}
+
+				if (writeIfChanged(propertiesFile, contentStream.toByteArray())) {
+					writtenFiles.add(propertiesFile);
+				}
+			}
+		}
+
+		return writtenFiles;
+	}
+
+	/**
+	 * Returns the table of the properties, if they are all rows of the same table and it is unmodified since reading or writing its files
+	 */
+	private static LanguagePropertyTable getCompleteUnmodifiedTable(final List<LanguageProperty> languageProperties) {
+		if (languageProperties.isEmpty()) {
+			return null;
+		}
+
+		final LanguagePropertyTable table = languageProperties.get(0).getTable();
+		if (table.size() != languageProperties.size() || table.isModified()) {
+			return null;
+		}
+		for (final LanguageProperty languageProperty : languageProperties) {
+			if (languageProperty.getTable() != table) {
+				return null;
+			}
+		}
+		return table;
+	}
+
+	/**
+	 * Replaces the file by a temporary file with the new content, if the existing file content differs.
+	 * New files are written directly, because there is no previous content to protect.
+	 */
+	private static boolean writeIfChanged(final File propertiesFile, final byte[] content) throws IOException {
+		if (!propertiesFile.exists()) {
+			Files.write(propertiesFile.toPath(), content);
+			return true;
+		} else if (propertiesFile.length() == content.length && Arrays.equals(Files.readAllBytes(propertiesFile.toPath()), content)) {
+			return false;
+		}
+
+		final Path tempFile = Files.createTempFile(propertiesFile.getAbsoluteFile().getParentFile().toPath(), propertiesFile.getName() + ".", ".tmp");
+		try {
+			Files.write(tempFile, content);
+			try {
+				// Temporary files are only readable by their owner
+				Files.setPosixFilePermissions(tempFile, Files.getPosixFilePermissions(propertiesFile.toPath()));
+			} catch (@SuppressWarnings("unused") final UnsupportedOperationException e) {
+				// No POSIX file system
+			}
+			try {
+				Files.move(tempFile, propertiesFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (@SuppressWarnings("unused") final AtomicMoveNotSupportedException e) {
+				Files.move(tempFile, propertiesFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
 			}
+		} finally {
+			Files.deleteIfExists(tempFile);
 		}
+		return true;
 	}
 
 	/**
@@ -0,0 +1,127 @@
+package de.soderer.argonaut.storage;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Index of the language properties sets within a directory tree by set name.
+ * The tree is crawled completely only once. Later lookups only list directories whose modification time changed,
+ * because adding, removing or renaming a file or subdirectory changes the modification time of its parent directory.
+ */
+public class LanguagePropertiesSetPathIndex {
+	/** Directories modified that recently may still change within the same file system timestamp, so they are listed again */
+	private static final long TIMESTAMP_GRANULARITY_MILLIS = 2000;
+
+	private static final Map<String, LanguagePropertiesSetPathIndex> INDEXES = new HashMap<>();
+
+	private final File basicDirectory;
+	private final Pattern propertiesFilePattern;
+	private final String[] excludeParts;
+
+	private final Map<File, IndexedDirectory> indexedDirectories = new HashMap<>();
+	private Map<String, Set<String>> setPathsByName = null;
+
+	public static synchronized LanguagePropertiesSetPathIndex getInstance(final File basicDirectory, final String propertiesFileExtension, final String[] excludeParts) {
+		final String indexKey = basicDirectory.getAbsolutePath() + "|" + propertiesFileExtension + "|" + (excludeParts == null ? "" : String.join("|", excludeParts));
+		return INDEXES.computeIfAbsent(indexKey, key -> new LanguagePropertiesSetPathIndex(basicDirectory.getAbsoluteFile(), propertiesFileExtension, excludeParts));
+	}
+
+	private LanguagePropertiesSetPathIndex(final File basicDirectory, final String propertiesFileExtension, final String[] excludeParts) {
+		this.basicDirectory = basicDirectory;
+		propertiesFilePattern = Pattern.compile("^.*_en" + Pattern.quote(propertiesFileExtension) + "$||^.*_de" + Pattern.quote(propertiesFileExtension) + "$");
+		this.excludeParts = excludeParts;
+	}
+
+	/**
+	 * Returns the sorted paths (directory and set name without language and extension) of all sets with the given name
+	 */
+	public synchronized List<String> getSetPaths(final String propertySetName) {
+		refresh();
+		final Set<String> setPaths = setPathsByName.get(propertySetName);
+		return setPaths == null ? Collections.emptyList() : new ArrayList<>(setPaths);
+	}
+
+	private void refresh() {
+		final Set<File> visitedDirectories = new HashSet<>();
+		boolean changed = refreshDirectory(basicDirectory, System.currentTimeMillis(), visitedDirectories);
+		if (indexedDirectories.keySet().retainAll(visitedDirectories)) {
+			changed = true;
+		}
+
+		if (changed || setPathsByName == null) {
+			setPathsByName = new HashMap<>();
+			for (final IndexedDirectory indexedDirectory : indexedDirectories.values()) {
+				for (final String setPath : indexedDirectory.setPaths) {
+					setPathsByName.computeIfAbsent(new File(setPath).getName(), key -> new TreeSet<>()).add(setPath);
+				}
+			}
+		}
+	}
+
+	private boolean refreshDirectory(final File directory, final long refreshMillis, final Set<File> visitedDirectories) {
+		visitedDirectories.add(directory);
+
+		boolean changed = false;
+		IndexedDirectory indexedDirectory = indexedDirectories.get(directory);
+		final long lastModified = directory.lastModified();
+		if (indexedDirectory == null || indexedDirectory.lastModified != lastModified || indexedDirectory.listedMillis - lastModified < TIMESTAMP_GRANULARITY_MILLIS) {
+			indexedDirectory = listDirectory(directory, lastModified, refreshMillis);
+			indexedDirectories.put(directory, indexedDirectory);
+			changed = true;
+		}
+
+		for (final File subdirectory : indexedDirectory.subdirectories) {
+			if (refreshDirectory(subdirectory, refreshMillis, visitedDirectories)) {
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	private IndexedDirectory listDirectory(final File directory, final long lastModified, final long listedMillis) {
+		final IndexedDirectory indexedDirectory = new IndexedDirectory(lastModified, listedMillis);
+		final File[] directoryEntries = directory.listFiles();
+		if (directoryEntries != null) {
+			for (final File directoryEntry : directoryEntries) {
+				if (directoryEntry.isDirectory()) {
+					indexedDirectory.subdirectories.add(directoryEntry);
+				} else if (propertiesFilePattern.matcher(directoryEntry.getName()).matches() && !isExcluded(directoryEntry)) {
+					final String propertySetName = directoryEntry.getName().substring(0, directoryEntry.getName().indexOf("_"));
+					indexedDirectory.setPaths.add(directory.getAbsolutePath() + File.separator + propertySetName);
+				}
+			}
+		}
+		return indexedDirectory;
+	}
+
+	private boolean isExcluded(final File propertiesFile) {
+		if (excludeParts != null) {
+			for (final String excludePart : excludeParts) {
+				if (propertiesFile.getAbsolutePath().contains(excludePart.replace("\\\\", "\\"))) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static class IndexedDirectory {
+		private final long lastModified;
+		private final long listedMillis;
+		private final Set<String> setPaths = new HashSet<>();
+		private final List<File> subdirectories = new ArrayList<>();
+
+		public IndexedDirectory(final long lastModified, final long listedMillis) {
+			this.lastModified = lastModified;
+			this.listedMillis = listedMillis;
+		}
+	}
+}
@@ -1,87 +1,90 @@
 package de.soderer.argonaut.storage;
 
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
 import de.soderer.utilities.Utilities;
 
+/**
+ * View on one row of a LanguagePropertyTable.
+ * Instances are created by LanguagePropertyTable.addProperty, so that all properties of a set share one table.
+ */
 public class LanguageProperty {
-	private String path;
-	private String key;
-	private String comment;
-	private int originalIndex;
-	private final Map<String, String> languageValues = new HashMap<>();
+	private final LanguagePropertyTable table;
+	private final int row;
 
-	public LanguageProperty(final String path, final String key) {
-		this.path = Utilities.replaceUsersHomeByTilde(path);
-		this.key = key;
+	LanguageProperty(final LanguagePropertyTable table, final int row) {
+		this.table = table;
+		this.row = row;
+	}
+
+	public LanguagePropertyTable getTable() {
+		return table;
 	}
 
 	public LanguageProperty setKey(final String key) {
-		this.key = key;
+		table.setKey(row, key);
 		return this;
 	}
 
 	public String getKey() {
-		return key;
+		return table.getKey(row);
 	}
 
 	public String getPath() {
-		return path;
+		return table.getPath(row);
 	}
 
 	public LanguageProperty setPath(final String path) {
-		this.path = path;
+		table.setPath(row, path);
 		return this;
 	}
 
 	public String getComment() {
-		return comment;
+		return table.getComment(row);
 	}
 
 	public LanguageProperty setComment(final String comment) {
-		this.comment = comment;
+		table.setComment(row, comment);
 		return this;
 	}
 
 	public int getOriginalIndex() {
-		return originalIndex;
+		return table.getOriginalIndex(row);
 	}
 
 	public LanguageProperty setOriginalIndex(final int originalIndex) {
-		this.originalIndex = originalIndex;
+		table.setOriginalIndex(row, originalIndex);
 		return this;
 	}
 
 	public boolean isEmpty() {
-		return Utilities.isEmpty(key) || languageValues.size() == 0;
+		return Utilities.isEmpty(getKey()) || table.getLanguageValueCount(row) == 0;
 	}
 
 	public LanguageProperty removeLanguageValue(final String languageSign) {
-		languageValues.remove(languageSign);
+		table.removeLanguageValue(row, languageSign);
 		return this;
 	}
 
+	/**
+	 * Live view on the contained language signs, removing an entry removes its language value
+	 */
 	public Set<String> getAvailableLanguageSigns() {
-		return languageValues.keySet();
+		return table.getAvailableLanguageSigns(row);
 	}
 
 	public String getLanguageValue(final String languageSign) {
-		return languageValues.get(languageSign);
+		return table.getLanguageValue(row, languageSign);
 	}
 
 	public boolean containsLanguage(final String languageSign) {
-		return languageValues.containsKey(languageSign);
+		return table.containsLanguage(row, languageSign);
 	}
 
 	public LanguageProperty setLanguageValue(final String languageSign, final String value) {
-		if (Utilities.isEmpty(value)) {
-			languageValues.put(languageSign, null);
-		} else {
-			languageValues.put(languageSign, value);
-		}
+		table.setLanguageValue(row, languageSign, value);
 		return this;
 	}
 
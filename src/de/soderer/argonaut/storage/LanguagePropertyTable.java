@@ -0,0 +1,326 @@
+package de.soderer.argonaut.storage;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import de.soderer.utilities.Utilities;
+
+/**
+ * Columnar storage of language properties.
+ * Each language sign is interned to a column index, values are kept in one array per language and equal paths are stored only once.
+ * LanguageProperty objects are views on a row of this table.
+ * Modifications are tracked per language, changes of rows, keys, comments, paths or indexes affect all languages.
+ * Not thread safe.
+ */
+public class LanguagePropertyTable {
+	private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+	/** Marks a language contained with a null value, because empty cells mean that the language is not contained */
+	private static final String NULL_VALUE = new String();
+
+	private final Map<String, String> normalizedPaths = new HashMap<>();
+	private final Map<String, Integer> languageSignIndexes = new HashMap<>();
+	private final List<String> languageSigns = new ArrayList<>();
+
+	private int size = 0;
+	private String[] paths;
+	private String[] keys;
+	private String[] comments;
+	private int[] originalIndexes;
+
+	/** Values by language index and row */
+	private String[][] values = new String[0][];
+
+	private boolean rowsModified = true;
+	private final BitSet modifiedLanguages = new BitSet();
+
+	public LanguagePropertyTable() {
+		this(DEFAULT_INITIAL_CAPACITY);
+	}
+
+	public LanguagePropertyTable(final int initialCapacity) {
+		final int capacity = Math.max(1, initialCapacity);
+		paths = new String[capacity];
+		keys = new String[capacity];
+		comments = new String[capacity];
+		originalIndexes = new int[capacity];
+	}
+
+	/**
+	 * Adds a new row and returns its view
+	 */
+	public LanguageProperty addProperty(final String path, final String key) {
+		if (size == keys.length) {
+			ensureCapacity(size + (size >> 1) + 1);
+		}
+		paths[size] = normalizePath(path);
+		keys[size] = key;
+		rowsModified = true;
+		return new LanguageProperty(this, size++);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public LanguageProperty get(final int row) {
+		checkRow(row);
+		return new LanguageProperty(this, row);
+	}
+
+	/**
+	 * Views on all rows in the order they were added
+	 */
+	public List<LanguageProperty> getProperties() {
+		final List<LanguageProperty> properties = new ArrayList<>(size);
+		for (int row = 0; row < size; row++) {
+			properties.add(new LanguageProperty(this, row));
+		}
+		return properties;
+	}
+
+	/**
+	 * Language signs that were set for any row of this table
+	 */
+	public List<String> getLanguageSigns() {
+		return Collections.unmodifiableList(languageSigns);
+	}
+
+	public boolean isModified() {
+		return rowsModified || !modifiedLanguages.isEmpty();
+	}
+
+	/**
+	 * Tells whether the file content of this language may have changed since the last call of markUnmodified
+	 */
+	public boolean isModified(final String languageSign) {
+		if (rowsModified) {
+			return true;
+		} else {
+			final Integer languageIndex = languageSignIndexes.get(languageSign);
+			return languageIndex != null && modifiedLanguages.get(languageIndex);
+		}
+	}
+
+	/**
+	 * To be called when the content of the table is equal to its stored files, e.g. after reading or writing them
+	 */
+	public void markUnmodified() {
+		rowsModified = false;
+		modifiedLanguages.clear();
+	}
+
+	public void ensureCapacity(final int minimumCapacity) {
+		if (minimumCapacity > keys.length) {
+			paths = Arrays.copyOf(paths, minimumCapacity);
+			keys = Arrays.copyOf(keys, minimumCapacity);
+			comments = Arrays.copyOf(comments, minimumCapacity);
+			originalIndexes = Arrays.copyOf(originalIndexes, minimumCapacity);
+			for (int languageIndex = 0; languageIndex < values.length; languageIndex++) {
+				values[languageIndex] = Arrays.copyOf(values[languageIndex], minimumCapacity);
+			}
+		}
+	}
+
+	String getPath(final int row) {
+		return paths[row];
+	}
+
+	/**
+	 * Paths are stored as given, only the paths of new rows are normalized
+	 */
+	void setPath(final int row, final String path) {
+		if (!Objects.equals(paths[row], path)) {
+			paths[row] = path == null ? null : normalizedPaths.computeIfAbsent(path, p -> p);
+			rowsModified = true;
+		}
+	}
+
+	String getKey(final int row) {
+		return keys[row];
+	}
+
+	void setKey(final int row, final String key) {
+		if (!Objects.equals(keys[row], key)) {
+			keys[row] = key;
+			rowsModified = true;
+		}
+	}
+
+	String getComment(final int row) {
+		return comments[row];
+	}
+
+	void setComment(final int row, final String comment) {
+		if (!Objects.equals(comments[row], comment)) {
+			comments[row] = comment;
+			rowsModified = true;
+		}
+	}
+
+	int getOriginalIndex(final int row) {
+		return originalIndexes[row];
+	}
+
+	void setOriginalIndex(final int row, final int originalIndex) {
+		if (originalIndexes[row] != originalIndex) {
+			originalIndexes[row] = originalIndex;
+			rowsModified = true;
+		}
+	}
+
+	String getLanguageValue(final int row, final String languageSign) {
+		final Integer languageIndex = languageSignIndexes.get(languageSign);
+		if (languageIndex == null) {
+			return null;
+		} else {
+			final String value = values[languageIndex][row];
+			return value == NULL_VALUE ? null : value;
+		}
+	}
+
+	boolean containsLanguage(final int row, final String languageSign) {
+		final Integer languageIndex = languageSignIndexes.get(languageSign);
+		return languageIndex != null && values[languageIndex][row] != null;
+	}
+
+	void setLanguageValue(final int row, final String languageSign, final String value) {
+		Integer languageIndex = languageSignIndexes.get(languageSign);
+		if (languageIndex == null) {
+			languageIndex = languageSigns.size();
+			languageSigns.add(languageSign);
+			languageSignIndexes.put(languageSign, languageIndex);
+			values = Arrays.copyOf(values, languageIndex + 1);
+			values[languageIndex] = new String[keys.length];
+		}
+		final String newValue = Utilities.isEmpty(value) ? NULL_VALUE : value;
+		if (!Objects.equals(values[languageIndex][row], newValue)) {
+			values[languageIndex][row] = newValue;
+			modifiedLanguages.set(languageIndex);
+		}
+	}
+
+	void removeLanguageValue(final int row, final String languageSign) {
+		final Integer languageIndex = languageSignIndexes.get(languageSign);
+		if (languageIndex != null && values[languageIndex][row] != null) {
+			values[languageIndex][row] = null;
+			modifiedLanguages.set(languageIndex);
+		}
+	}
+
+	/**
+	 * Live view on the languages contained in a row, like the former key set of the language value map.
+	 * Removing a language sign from the view removes its value.
+	 */
+	Set<String> getAvailableLanguageSigns(final int row) {
+		return new AbstractSet<String>() {
+			@Override
+			public Iterator<String> iterator() {
+				return new Iterator<String>() {
+					private int nextLanguageIndex = findLanguageIndex(row, 0);
+					private int lastLanguageIndex = -1;
+
+					@Override
+					public boolean hasNext() {
+						return nextLanguageIndex >= 0;
+					}
+
+					@Override
+					public String next() {
+						if (nextLanguageIndex < 0) {
+							throw new NoSuchElementException();
+						}
+						lastLanguageIndex = nextLanguageIndex;
+						nextLanguageIndex = findLanguageIndex(row, nextLanguageIndex + 1);
+						return languageSigns.get(lastLanguageIndex);
+					}
+
+					@Override
+					public void remove() {
+						if (lastLanguageIndex < 0) {
+							throw new IllegalStateException();
+						}
+						removeLanguageValue(row, languageSigns.get(lastLanguageIndex));
+						lastLanguageIndex = -1;
+					}
+				};
+			}
+
+			@Override
+			public int size() {
+				return getLanguageValueCount(row);
+			}
+
+			@Override
+			public boolean contains(final Object languageSign) {
+				return languageSign instanceof String && containsLanguage(row, (String) languageSign);
+			}
+
+			@Override
+			public boolean remove(final Object languageSign) {
+				if (contains(languageSign)) {
+					removeLanguageValue(row, (String) languageSign);
+					return true;
+				} else {
+					return false;
+				}
+			}
+		};
+	}
+
+	/**
+	 * Index of the first language starting at fromLanguageIndex that is contained in the row, -1 if there is none
+	 */
+	private int findLanguageIndex(final int row, final int fromLanguageIndex) {
+		for (int languageIndex = fromLanguageIndex; languageIndex < values.length; languageIndex++) {
+			if (values[languageIndex][row] != null) {
+				return languageIndex;
+			}
+		}
+		return -1;
+	}
+
+	int getLanguageValueCount(final int row) {
+		int count = 0;
+		for (int languageIndex = 0; languageIndex < values.length; languageIndex++) {
+			if (values[languageIndex][row] != null) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Applies replaceUsersHomeByTilde only once per distinct path and shares the resulting string between all rows
+	 */
+	private String normalizePath(final String path) {
+		if (path == null) {
+			return Utilities.replaceUsersHomeByTilde(path);
+		}
+		String normalizedPath = normalizedPaths.get(path);
+		if (normalizedPath == null) {
+			normalizedPath = Utilities.replaceUsersHomeByTilde(path);
+			if (normalizedPath != null) {
+				normalizedPath = normalizedPaths.computeIfAbsent(normalizedPath, p -> p);
+			}
+			normalizedPaths.put(path, normalizedPath);
+		}
+		return normalizedPath;
+	}
+
+	private void checkRow(final int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Row " + row + " is not within table size " + size);
+		}
+	}
+}
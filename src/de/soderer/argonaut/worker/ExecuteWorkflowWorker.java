@@ -0,0 +1,255 @@
+package de.soderer.argonaut.worker;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.soderer.argonaut.helper.ArgoWfSchedulerClient;
+import de.soderer.argonaut.helper.ArgoWfSchedulerRequestExecutor;
+import de.soderer.argonaut.helper.DeadlineExceededException;
+import de.soderer.argonaut.helper.TaskExecution;
+import de.soderer.argonaut.helper.TaskExecution.State;
+import de.soderer.argonaut.helper.TaskInstanceStatus;
+import de.soderer.argonaut.helper.TaskSearchQuery;
+import de.soderer.argonaut.helper.TaskStatus;
+import de.soderer.utilities.worker.WorkerParentSimple;
+import de.soderer.utilities.worker.WorkerSimple;
+
+/**
+ * Headless execution of a workflow template: Creates and starts one task per parameter set, up to parallelTasks at a time.
+ * Optionally waits for all started tasks to finish by polling their status with one search request per round and a growing poll interval.
+ */
+public class ExecuteWorkflowWorker extends WorkerSimple<List<TaskExecution>> {
+	private static final Duration MINIMUM_POLL_INTERVAL = Duration.ofSeconds(2);
+	private static final Duration MAXIMUM_POLL_INTERVAL = Duration.ofSeconds(30);
+	private static final double POLL_INTERVAL_FACTOR = 1.5;
+
+	/** Tolerance for clock differences between this client and the server when searching the started tasks */
+	private static final Duration CREATED_AFTER_TOLERANCE = Duration.ofMinutes(5);
+
+	private final ArgoWfSchedulerClient argoWfSchedulerClient;
+	private final String workflowTemplateName;
+	private final Map<String, String> parameters;
+	private final List<Map<String, String>> parameterSets;
+	private final int parallelTasks;
+	private final boolean waitForCompletion;
+	private final Duration waitTimeout;
+
+	/**
+	 * @param parameters Parameter values for all tasks, overriding the template defaults
+	 * @param parameterSets One entry per task to start, overriding the other parameter values. Null or empty to start a single task.
+	 * @param waitTimeout Maximum time to wait for the completion of all tasks, null for no limit
+	 */
+	public ExecuteWorkflowWorker(final WorkerParentSimple parent, final ArgoWfSchedulerClient argoWfSchedulerClient, final String workflowTemplateName, final Map<String, String> parameters, final List<Map<String, String>> parameterSets, final int parallelTasks, final boolean waitForCompletion, final Duration waitTimeout) {
+		super(parent);
+
+		this.argoWfSchedulerClient = argoWfSchedulerClient;
+		this.workflowTemplateName = workflowTemplateName;
+		this.parameters = parameters;
+		this.parameterSets = parameterSets;
+		this.parallelTasks = Math.max(1, parallelTasks);
+		this.waitForCompletion = waitForCompletion;
+		this.waitTimeout = waitTimeout;
+	}
+
+	@Override
+	public List<TaskExecution> work() throws Exception {
+		parent.changeTitle("Execute workflow " + workflowTemplateName);
+		signalUnlimitedProgress();
+
+		final Map<String, String> templateParameters = argoWfSchedulerClient.getWorkflowTemplateParameters(workflowTemplateName);
+		final List<TaskExecution> taskExecutions = new ArrayList<>();
+		if (parameterSets == null || parameterSets.isEmpty()) {
+			taskExecutions.add(new TaskExecution(0, mergeParameters(templateParameters, null)));
+		} else {
+			for (final Map<String, String> parameterSet : parameterSets) {
+				taskExecutions.add(new TaskExecution(taskExecutions.size(), mergeParameters(templateParameters, parameterSet)));
+			}
+		}
+
+		itemsToDo = waitForCompletion ? taskExecutions.size() * 2 : taskExecutions.size();
+		itemsDone = 0;
+		signalProgress(true);
+
+		final ZonedDateTime executionStart = ZonedDateTime.now();
+		startTasks(taskExecutions);
+
+		if (waitForCompletion && !cancel) {
+			waitForTasks(taskExecutions, executionStart);
+		}
+
+		if (cancel) {
+			for (final TaskExecution taskExecution : taskExecutions) {
+				if (!taskExecution.getState().isFinal()) {
+					taskExecution.setState(State.CANCELLED);
+				}
+			}
+		}
+
+		signalProgress(true);
+		return taskExecutions;
+	}
+
+	private Map<String, String> mergeParameters(final Map<String, String> templateParameters, final Map<String, String> parameterSet) throws Exception {
+		final Map<String, String> taskParameters = new LinkedHashMap<>(templateParameters);
+		if (parameters != null) {
+			taskParameters.putAll(parameters);
+		}
+		if (parameterSet != null) {
+			taskParameters.putAll(parameterSet);
+		}
+		for (final String parameterName : taskParameters.keySet()) {
+			if (!templateParameters.containsKey(parameterName)) {
+				throw new Exception("Workflow template '" + workflowTemplateName + "' has no parameter '" + parameterName + "'");
+			}
+		}
+		return taskParameters;
+	}
+
+	private void startTasks(final List<TaskExecution> taskExecutions) throws Exception {
+		final ExecutorService executorService = Executors.newFixedThreadPool(Math.min(parallelTasks, taskExecutions.size()), runnable -> {
+			final Thread thread = new Thread(runnable, "ExecuteWorkflow");
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			final List<Future<?>> startFutures = new ArrayList<>(taskExecutions.size());
+			for (final TaskExecution taskExecution : taskExecutions) {
+				startFutures.add(executorService.submit(() -> startTask(taskExecution)));
+			}
+
+			for (final Future<?> startFuture : startFutures) {
+				startFuture.get();
+				itemsDone++;
+				signalProgress(false);
+			}
+		} finally {
+			executorService.shutdownNow();
+		}
+	}
+
+	private void startTask(final TaskExecution taskExecution) {
+		if (cancel) {
+			return;
+		}
+
+		try {
+			taskExecution.setTaskID(argoWfSchedulerClient.createTask(workflowTemplateName, taskExecution.getParameters(), true));
+		} catch (final Exception e) {
+			taskExecution.setState(State.CREATE_FAILED).setMessage("Cannot create new task: " + e.getMessage());
+			return;
+		}
+
+		try {
+			argoWfSchedulerClient.startTask(taskExecution.getTaskID());
+			taskExecution.setState(State.STARTED);
+		} catch (final Exception e) {
+			taskExecution.setState(State.START_FAILED).setMessage("Cannot start newly created task " + taskExecution.getTaskID() + ": " + e.getMessage());
+		}
+	}
+
+	private void waitForTasks(final List<TaskExecution> taskExecutions, final ZonedDateTime executionStart) throws Exception {
+		final Map<Integer, TaskExecution> runningTaskExecutions = new LinkedHashMap<>();
+		for (final TaskExecution taskExecution : taskExecutions) {
+			if (taskExecution.getState() == State.STARTED) {
+				runningTaskExecutions.put(taskExecution.getTaskID(), taskExecution);
+			} else {
+				itemsDone++;
+			}
+		}
+		signalProgress(true);
+
+		final TaskSearchQuery query = new TaskSearchQuery().setWorkflowTemplateName(workflowTemplateName).setCreatedAfter(executionStart.minus(CREATED_AFTER_TOLERANCE));
+		final long waitEndMillis = waitTimeout == null ? Long.MAX_VALUE : System.currentTimeMillis() + waitTimeout.toMillis();
+		long pollIntervalMillis = MINIMUM_POLL_INTERVAL.toMillis();
+		int pollFailures = 0;
+		String lastPollError = null;
+		while (!runningTaskExecutions.isEmpty() && !cancel) {
+			final long remainingMillis = waitEndMillis - System.currentTimeMillis();
+			if (remainingMillis <= 0) {
+				break;
+			}
+			Thread.sleep(Math.min(pollIntervalMillis, remainingMillis));
+
+			final int finishedBefore = taskExecutions.size() - runningTaskExecutions.size();
+			final Map<Integer, TaskStatus> taskStatusMap = new LinkedHashMap<>();
+			try {
+				// All requests of a poll round share the remaining wait time as deadline
+				final ArgoWfSchedulerClient pollClient = waitTimeout == null ? argoWfSchedulerClient : argoWfSchedulerClient.withDeadline(Duration.ofMillis(waitEndMillis - System.currentTimeMillis()));
+				for (final TaskStatus taskStatus : pollClient.getWorkflowTemplateTaskStatus(query, null).getTaskStatusList()) {
+					if (runningTaskExecutions.containsKey(taskStatus.getTaskID())) {
+						taskStatusMap.put(taskStatus.getTaskID(), taskStatus);
+					}
+				}
+
+				// Tasks missing in the search result (e.g. by clock differences) are requested directly
+				final List<Integer> missingTaskIDs = new ArrayList<>(runningTaskExecutions.keySet());
+				missingTaskIDs.removeAll(taskStatusMap.keySet());
+				if (!missingTaskIDs.isEmpty()) {
+					for (final TaskStatus taskStatus : ArgoWfSchedulerRequestExecutor.await(pollClient.getTaskStatusAsync(missingTaskIDs))) {
+						taskStatusMap.put(taskStatus.getTaskID(), taskStatus);
+					}
+				}
+			} catch (@SuppressWarnings("unused") final DeadlineExceededException e) {
+				// The wait timeout was reached during the poll, so the remaining tasks are timed out
+				break;
+			} catch (final Exception e) {
+				// A failed poll round (e.g. open circuit breaker or server error) is retried with the next round until the wait timeout
+				pollFailures++;
+				lastPollError = e.getMessage();
+				pollIntervalMillis = Math.min((long) (pollIntervalMillis * POLL_INTERVAL_FACTOR), MAXIMUM_POLL_INTERVAL.toMillis());
+				continue;
+			}
+
+			for (final TaskStatus taskStatus : taskStatusMap.values()) {
+				final State finalState = getFinalState(taskStatus);
+				if (finalState != null) {
+					runningTaskExecutions.remove(taskStatus.getTaskID()).setState(finalState);
+					itemsDone++;
+				}
+			}
+			signalProgress(false);
+
+			if (taskExecutions.size() - runningTaskExecutions.size() == finishedBefore) {
+				// Nothing changed, so poll less often
+				pollIntervalMillis = Math.min((long) (pollIntervalMillis * POLL_INTERVAL_FACTOR), MAXIMUM_POLL_INTERVAL.toMillis());
+			} else {
+				pollIntervalMillis = MINIMUM_POLL_INTERVAL.toMillis();
+			}
+		}
+
+		if (!cancel) {
+			for (final TaskExecution taskExecution : runningTaskExecutions.values()) {
+				taskExecution.setState(State.TIMED_OUT);
+				if (pollFailures > 0) {
+					taskExecution.setMessage(pollFailures + " status polls failed, last error: " + lastPollError);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns null while the task has no instance yet or any of its instances is still running
+	 */
+	private static State getFinalState(final TaskStatus taskStatus) {
+		if (taskStatus.getInstances() == null || taskStatus.getInstances().isEmpty()) {
+			return null;
+		}
+
+		boolean succeeded = true;
+		for (final TaskInstanceStatus taskInstanceStatus : taskStatus.getInstances().values()) {
+			if (!taskInstanceStatus.isFinished()) {
+				return null;
+			} else if (!"SUCCEEDED".equalsIgnoreCase(taskInstanceStatus.getStatus())) {
+				succeeded = false;
+			}
+		}
+		return succeeded ? State.SUCCEEDED : State.FAILED;
+	}
+}
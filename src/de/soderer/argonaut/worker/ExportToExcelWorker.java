@@ -2,14 +2,18 @@ package de.soderer.argonaut.worker;
 
 import java.io.File;
 import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFCellStyle;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import de.soderer.argonaut.ArgonautException;
@@ -20,10 +24,20 @@ import de.soderer.utilities.worker.WorkerParentSimple;
 import de.soderer.utilities.worker.WorkerSimple;
 
 public class ExportToExcelWorker extends WorkerSimple<Boolean> {
+	/** Number of rows kept in memory by the streaming workbook, older rows are flushed to a temporary file */
+	private static final int STREAMING_ROW_WINDOW = 100;
+
+	/** Maximum number of evenly distributed rows measured for the column widths of a streaming export */
+	private static final int COLUMN_WIDTH_SAMPLE_ROWS = 1000;
+
+	private static final int MINIMUM_COLUMN_WIDTH_CHARACTERS = 5;
+	private static final int MAXIMUM_COLUMN_WIDTH_CHARACTERS = 100;
+
 	private final List<String> languagePropertiesSetNames;
 	private final List<LanguageProperty> languageProperties;
 	private final File excelOutputFile;
 	private final boolean overwrite;
+	private boolean streaming = true;
 
 	public ExportToExcelWorker(final WorkerParentSimple parent, final List<LanguageProperty> languageProperties, final List<String> languagePropertiesSetNames, final File excelOutputFile, final boolean overwrite) {
 		super(parent);
@@ -34,6 +48,15 @@ public class ExportToExcelWorker extends WorkerSimple<Boolean> {
 		this.overwrite = overwrite;
 	}
 
+	/**
+	 * Streaming export (default) keeps only a window of rows in memory and sizes the columns by sampled text lengths.
+	 * Non streaming export builds the whole workbook in memory and sizes the columns exactly.
+	 */
+	public ExportToExcelWorker setStreaming(final boolean streaming) {
+		this.streaming = streaming;
+		return this;
+	}
+
 	@Override
 	public Boolean work() throws Exception {
 		parent.changeTitle("Excel export");
@@ -56,11 +79,11 @@ public class ExportToExcelWorker extends WorkerSimple<Boolean> {
 			}
 		}
 
-		try (final XSSFWorkbook workbook = new XSSFWorkbook()) {
+		try (final Workbook workbook = streaming ? new SXSSFWorkbook(STREAMING_ROW_WINDOW) : new XSSFWorkbook()) {
 			try (final FileOutputStream outputStream = new FileOutputStream(excelOutputFile)) {
-				final XSSFSheet sheet = workbook.createSheet(languagePropertiesSetNames.size() == 1 ? languagePropertiesSetNames.get(0) : "Multiple");
+				final Sheet sheet = workbook.createSheet(languagePropertiesSetNames.size() == 1 ? languagePropertiesSetNames.get(0) : "Multiple");
 
-				final XSSFCellStyle cellStyle = workbook.createCellStyle();
+				final CellStyle cellStyle = workbook.createCellStyle();
 				cellStyle.setWrapText(true);
 
 				// Write header row
@@ -88,6 +111,14 @@ public class ExportToExcelWorker extends WorkerSimple<Boolean> {
 					headerCell.setCellValue(languageSign);
 				}
 
+				if (streaming) {
+					// Rows flushed to disk cannot be measured later, so the widths are set in advance
+					final int[] columnWidths = getSampledColumnWidths(sortedLanguageProperties, commentsFound, languageSignsInOutputOrder);
+					for (int i = 0; i < columnWidths.length; i++) {
+						sheet.setColumnWidth(i, columnWidths[i] * 256);
+					}
+				}
+
 				// Write data rows
 				int dataRowIndex = 1;
 				for (final LanguageProperty languageproperty : sortedLanguageProperties) {
@@ -126,18 +157,81 @@ public class ExportToExcelWorker extends WorkerSimple<Boolean> {
 				itemsDone = itemsToDo;
 				signalProgress(true);
 
-				// Resize columns for optimal width
-				for (int i = 0; i < languageSignsInOutputOrder.size() + 3; i++) {
-					sheet.autoSizeColumn(i);
+				if (!streaming) {
+					// Resize columns for optimal width
+					for (int i = 0; i < languageSignsInOutputOrder.size() + 3; i++) {
+						sheet.autoSizeColumn(i);
+					}
 				}
 
 				workbook.write(outputStream);
+			} finally {
+				if (workbook instanceof SXSSFWorkbook) {
+					// Delete the temporary files of the flushed rows
+					((SXSSFWorkbook) workbook).dispose();
+				}
 			}
 		}
 
 		return !cancel;
 	}
 
+	/**
+	 * Column widths in characters by the longest text line within evenly distributed sample rows
+	 */
+	private static int[] getSampledColumnWidths(final List<LanguageProperty> sortedLanguageProperties, final boolean commentsFound, final List<String> languageSignsInOutputOrder) {
+		final List<String> headerTexts = new ArrayList<>(Arrays.asList("Path", "Index", "Key"));
+		if (commentsFound) {
+			headerTexts.add("Comment");
+		}
+		headerTexts.addAll(languageSignsInOutputOrder);
+
+		final int[] columnWidths = new int[headerTexts.size()];
+		for (int i = 0; i < columnWidths.length; i++) {
+			columnWidths[i] = headerTexts.get(i).length();
+		}
+
+		final int sampleStep = Math.max(1, sortedLanguageProperties.size() / COLUMN_WIDTH_SAMPLE_ROWS);
+		for (int rowIndex = 0; rowIndex < sortedLanguageProperties.size(); rowIndex += sampleStep) {
+			final LanguageProperty languageProperty = sortedLanguageProperties.get(rowIndex);
+			final List<String> cellTexts = new ArrayList<>(columnWidths.length);
+			cellTexts.add(languageProperty.getPath());
+			cellTexts.add(Integer.toString(languageProperty.getOriginalIndex()));
+			cellTexts.add(languageProperty.getKey());
+			if (commentsFound) {
+				cellTexts.add(languageProperty.getComment());
+			}
+			for (final String languageSign : languageSignsInOutputOrder) {
+				cellTexts.add(languageProperty.getLanguageValue(languageSign));
+			}
+
+			for (int i = 0; i < columnWidths.length; i++) {
+				columnWidths[i] = Math.max(columnWidths[i], getLongestLineLength(cellTexts.get(i)));
+			}
+		}
+
+		for (int i = 0; i < columnWidths.length; i++) {
+			// Some space for the cell padding
+			columnWidths[i] = Math.min(Math.max(columnWidths[i] + 2, MINIMUM_COLUMN_WIDTH_CHARACTERS), MAXIMUM_COLUMN_WIDTH_CHARACTERS);
+		}
+		return columnWidths;
+	}
+
+	private static int getLongestLineLength(final String text) {
+		if (text == null) {
+			return 0;
+		}
+
+		int longestLineLength = 0;
+		int lineStart = 0;
+		int lineEnd;
+		while ((lineEnd = text.indexOf('\n', lineStart)) >= 0) {
+			longestLineLength = Math.max(longestLineLength, lineEnd - lineStart);
+			lineStart = lineEnd + 1;
+		}
+		return Math.max(longestLineLength, text.length() - lineStart);
+	}
+
 	@Override
 	public String getResultText() {
 		// TODO
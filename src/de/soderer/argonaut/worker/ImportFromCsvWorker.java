@@ -2,18 +2,24 @@ package de.soderer.argonaut.worker;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import de.soderer.argonaut.ArgonautException;
 import de.soderer.argonaut.storage.LanguagePropertiesFileSetReader;
 import de.soderer.argonaut.storage.LanguageProperty;
+import de.soderer.argonaut.storage.LanguagePropertyTable;
 import de.soderer.utilities.Utilities;
 import de.soderer.utilities.csv.CsvFormat;
 import de.soderer.utilities.csv.CsvReader;
@@ -24,7 +30,16 @@ public class ImportFromCsvWorker extends WorkerSimple<Boolean> {
 	private static final Pattern LANGUAGEANDCOUNTRYPATTERN = Pattern.compile("^[a-zA-Z]{2}_[a-zA-Z]{2}$");
 	private static final Pattern LANGUAGEPATTERN = Pattern.compile("^[a-zA-Z]{2}$");
 
+	/** Rows read before the total number of rows is extrapolated */
+	private static final int ROWS_FOR_SIZE_ESTIMATION = 1000;
+
+	/** Rows are handed over between the threads in batches to keep the synchronization costs low */
+	private static final int ROW_BATCH_SIZE = 256;
+	private static final int QUEUE_CAPACITY_BATCHES = 16;
+	private static final List<List<String>> END_OF_ROWS = new ArrayList<>();
+
 	private final File importCsvFile;
+	private boolean separateReaderThread = false;
 
 	private List<String> languagePropertiesSetNames;
 	private List<LanguageProperty> languageProperties;
@@ -37,105 +52,39 @@ public class ImportFromCsvWorker extends WorkerSimple<Boolean> {
 		this.importCsvFile = importCsvFile;
 	}
 
+	/**
+	 * Reads the csv file on a separate thread, which hands over the rows to the converting worker thread through a bounded queue
+	 */
+	public ImportFromCsvWorker setSeparateReaderThread(final boolean separateReaderThread) {
+		this.separateReaderThread = separateReaderThread;
+		return this;
+	}
+
 	@Override
 	public Boolean work() throws Exception {
 		parent.changeTitle("CSV import");
-		try (FileInputStream inputStream = new FileInputStream(importCsvFile);
+
+		// Progress is measured in bytes read from the file
+		itemsToDo = importCsvFile.length();
+		itemsDone = 0;
+		signalProgress(true);
+
+		try (CountingInputStream inputStream = new CountingInputStream(new FileInputStream(importCsvFile));
 				CsvReader csvReader = new CsvReader(inputStream, new CsvFormat().setSeparator(';').setStringQuote('"').setStringQuoteEscapeCharacter('\\'))) {
-			// Read headers
-			int columnIndex_Path = -1;
-			int columnIndex_Keys = -1;
-			int columnIndex_Index = -1;
-			int columnIndex_Comment = -1;
-			final Map<Integer, String> languageColumnHeaders = new HashMap<>();
 			final List<String> headerRow = csvReader.readNextCsvLine();
-			int headerColumnIndex = -1;
-			for (final String header : headerRow) {
-				headerColumnIndex++;
-				final String cellValue = header.trim();
-				if ("path".equalsIgnoreCase(cellValue.trim())
-						|| "pfad".equalsIgnoreCase(cellValue.trim())
-						|| "datei".equalsIgnoreCase(cellValue.trim())
-						|| "file".equalsIgnoreCase(cellValue.trim())) {
-					columnIndex_Path = headerColumnIndex;
-				} else if ("key".equalsIgnoreCase(cellValue.trim())
-						|| "keys".equalsIgnoreCase(cellValue.trim())
-						|| "bezeichner".equalsIgnoreCase(cellValue.trim())
-						|| "schlüssel".equalsIgnoreCase(cellValue.trim())
-						|| "schluessel".equalsIgnoreCase(cellValue.trim())) {
-					columnIndex_Keys = headerColumnIndex;
-				} else if ("index".equalsIgnoreCase(cellValue.trim())
-						|| "idx".equalsIgnoreCase(cellValue.trim())
-						|| "org.idx".equalsIgnoreCase(cellValue.trim())) {
-					columnIndex_Index = headerColumnIndex;
-				} else if ("comment".equalsIgnoreCase(cellValue.trim())
-						|| "kommentar".equalsIgnoreCase(cellValue.trim())) {
-					columnIndex_Comment = headerColumnIndex;
-				} else if ("default".equalsIgnoreCase(cellValue)) {
-					languageColumnHeaders.put(headerColumnIndex, cellValue.toLowerCase());
-				} else if (LANGUAGEANDCOUNTRYPATTERN.matcher(cellValue).matches()
-						|| LANGUAGEPATTERN.matcher(cellValue).matches()) {
-					languageColumnHeaders.put(headerColumnIndex, cellValue);
-				}
-			}
-
-			if (columnIndex_Keys == -1) {
+			if (headerRow == null) {
 				throw new ArgonautException("Csv file does not contain mandatory column for keys");
 			}
+			final CsvRowConverter rowConverter = new CsvRowConverter(headerRow);
 
-			// Read data
 			languageProperties = new ArrayList<>();
-			int rowIndex = -1;
-
-			itemsToDo = 1000;
-			itemsDone = 0;
-
-			List<String> valuesRow;
-			while ((valuesRow = csvReader.readNextCsvLine()) != null) {
-				rowIndex++;
-				if (rowIndex > 0) {
-					String path = null;
-					if (columnIndex_Path >= 0) {
-						path = valuesRow.get(columnIndex_Path).trim();
-					}
-
-					final String key = valuesRow.get(columnIndex_Keys).trim();
-
-					final LanguageProperty languageProperty = new LanguageProperty(path, key);
-
-					if (columnIndex_Index >= 0) {
-						final String indexCell = valuesRow.get(columnIndex_Index);
-						try {
-							languageProperty.setOriginalIndex(Integer.parseInt(indexCell.trim()));
-						} catch (final Exception e) {
-							throw new ArgonautException("Csv file contains invalid index value at row " + (rowIndex + 1) + " and column " + (columnIndex_Index + 1), e);
-						}
-					} else {
-						languageProperty.setOriginalIndex(rowIndex);
-					}
-
-					if (columnIndex_Comment >= 0) {
-						final String commentCell = valuesRow.get(columnIndex_Comment);
-						try {
-							languageProperty.setComment(commentCell);
-						} catch (final Exception e) {
-							throw new ArgonautException("Csv file contains invalid comment value at row " + (rowIndex + 1) + " and column " + (columnIndex_Index + 1), e);
-						}
-					} else {
-						languageProperty.setComment(null);
-					}
-
-					for (final Entry<Integer, String> entry : languageColumnHeaders.entrySet()) {
-						final String valueCell = valuesRow.get(entry.getKey());
-						languageProperty.setLanguageValue(entry.getValue(), valueCell);
-					}
-
-					languageProperties.add(languageProperty);
+			if (separateReaderThread) {
+				readRowsBySeparateThread(csvReader, inputStream, rowConverter);
+			} else {
+				List<String> valuesRow;
+				while (!cancel && (valuesRow = csvReader.readNextCsvLine()) != null) {
+					addLanguageProperty(rowConverter, valuesRow, inputStream);
 				}
-
-
-				itemsDone++;
-				signalProgress(false);
 			}
 		}
 
@@ -144,8 +93,9 @@ public class ImportFromCsvWorker extends WorkerSimple<Boolean> {
 
 		availableLanguageSigns = Utilities.sortButPutItemsFirst(LanguagePropertiesFileSetReader.getAvailableLanguageSignsOfProperties(languageProperties), LanguagePropertiesFileSetReader.LANGUAGE_SIGN_DEFAULT);
 
+		// Sorted in place, csv exports are mostly sorted already, which the list sort detects in linear time
 		final Comparator<LanguageProperty> compareByPathAndIndex = Comparator.comparing(LanguageProperty::getPath).thenComparing(LanguageProperty::getOriginalIndex);
-		languageProperties = languageProperties.stream().sorted(compareByPathAndIndex).collect(Collectors.toList());
+		languageProperties.sort(compareByPathAndIndex);
 
 		// TODO
 		languagePropertiesSetNames = LanguagePropertiesFileSetReader.getLanguagePropertiesSetNames(languageProperties);
@@ -161,6 +111,71 @@ public class ImportFromCsvWorker extends WorkerSimple<Boolean> {
 		return !cancel;
 	}
 
+	private void addLanguageProperty(final CsvRowConverter rowConverter, final List<String> valuesRow, final CountingInputStream inputStream) throws Exception {
+		languageProperties.add(rowConverter.convert(valuesRow));
+
+		if (languageProperties.size() == ROWS_FOR_SIZE_ESTIMATION) {
+			// Avoid repeated growing of the list by extrapolating the number of rows from the bytes read so far
+			final long estimatedRows = importCsvFile.length() * ROWS_FOR_SIZE_ESTIMATION / Math.max(1, inputStream.getBytesRead());
+			final int estimatedCapacity = (int) Math.min(estimatedRows + estimatedRows / 10, Integer.MAX_VALUE - 8);
+			((ArrayList<LanguageProperty>) languageProperties).ensureCapacity(estimatedCapacity);
+			rowConverter.ensureCapacity(estimatedCapacity);
+		}
+
+		itemsDone = inputStream.getBytesRead();
+		signalProgress(false);
+	}
+
+	private void readRowsBySeparateThread(final CsvReader csvReader, final CountingInputStream inputStream, final CsvRowConverter rowConverter) throws Exception {
+		final BlockingQueue<List<List<String>>> rowBatchQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY_BATCHES);
+		final AtomicReference<Exception> readerError = new AtomicReference<>();
+		final Thread readerThread = new Thread(() -> {
+			try {
+				List<List<String>> rowBatch = new ArrayList<>(ROW_BATCH_SIZE);
+				List<String> valuesRow;
+				while (!cancel && (valuesRow = csvReader.readNextCsvLine()) != null) {
+					rowBatch.add(valuesRow);
+					if (rowBatch.size() == ROW_BATCH_SIZE) {
+						rowBatchQueue.put(rowBatch);
+						rowBatch = new ArrayList<>(ROW_BATCH_SIZE);
+					}
+				}
+				if (!rowBatch.isEmpty()) {
+					rowBatchQueue.put(rowBatch);
+				}
+			} catch (@SuppressWarnings("unused") final InterruptedException e) {
+				// Converting thread stopped
+				return;
+			} catch (final Exception e) {
+				readerError.set(e);
+			}
+
+			try {
+				rowBatchQueue.put(END_OF_ROWS);
+			} catch (@SuppressWarnings("unused") final InterruptedException e) {
+				// Converting thread stopped
+			}
+		}, "CsvReader");
+		readerThread.setDaemon(true);
+		readerThread.start();
+
+		try {
+			List<List<String>> rowBatch;
+			while ((rowBatch = rowBatchQueue.take()) != END_OF_ROWS) {
+				for (final List<String> valuesRow : rowBatch) {
+					addLanguageProperty(rowConverter, valuesRow, inputStream);
+				}
+			}
+		} finally {
+			readerThread.interrupt();
+			readerThread.join();
+		}
+
+		if (readerError.get() != null) {
+			throw readerError.get();
+		}
+	}
+
 	@Override
 	public String getResultText() {
 		return null;
@@ -181,4 +196,144 @@ public class ImportFromCsvWorker extends WorkerSimple<Boolean> {
 	public boolean isCommentsFound() {
 		return commentsFound;
 	}
+
+	/**
+	 * Converts csv data rows into LanguageProperties by the column positions found in the header row
+	 */
+	private static class CsvRowConverter {
+		private int columnIndex_Path = -1;
+		private int columnIndex_Keys = -1;
+		private int columnIndex_Index = -1;
+		private int columnIndex_Comment = -1;
+		private final int[] languageColumnIndexes;
+		private final String[] languageSigns;
+		private int rowIndex = 0;
+		private final LanguagePropertyTable languagePropertyTable = new LanguagePropertyTable();
+
+		public CsvRowConverter(final List<String> headerRow) throws ArgonautException {
+			final Map<Integer, String> languageColumnHeaders = new LinkedHashMap<>();
+			int headerColumnIndex = -1;
+			for (final String header : headerRow) {
+				headerColumnIndex++;
+				final String cellValue = header.trim();
+				if ("path".equalsIgnoreCase(cellValue)
+						|| "pfad".equalsIgnoreCase(cellValue)
+						|| "datei".equalsIgnoreCase(cellValue)
+						|| "file".equalsIgnoreCase(cellValue)) {
+					columnIndex_Path = headerColumnIndex;
+				} else if ("key".equalsIgnoreCase(cellValue)
+						|| "keys".equalsIgnoreCase(cellValue)
+						|| "bezeichner".equalsIgnoreCase(cellValue)
+						|| "schlüssel".equalsIgnoreCase(cellValue)
+						|| "schluessel".equalsIgnoreCase(cellValue)) {
+					columnIndex_Keys = headerColumnIndex;
+				} else if ("index".equalsIgnoreCase(cellValue)
+						|| "idx".equalsIgnoreCase(cellValue)
+						|| "org.idx".equalsIgnoreCase(cellValue)) {
+					columnIndex_Index = headerColumnIndex;
+				} else if ("comment".equalsIgnoreCase(cellValue)
+						|| "kommentar".equalsIgnoreCase(cellValue)) {
+					columnIndex_Comment = headerColumnIndex;
+				} else if ("default".equalsIgnoreCase(cellValue)) {
+					languageColumnHeaders.put(headerColumnIndex, cellValue.toLowerCase());
+				} else if (LANGUAGEANDCOUNTRYPATTERN.matcher(cellValue).matches()
+						|| LANGUAGEPATTERN.matcher(cellValue).matches()) {
+					languageColumnHeaders.put(headerColumnIndex, cellValue);
+				}
+			}
+
+			if (columnIndex_Keys == -1) {
+				throw new ArgonautException("Csv file does not contain mandatory column for keys");
+			}
+
+			languageColumnIndexes = new int[languageColumnHeaders.size()];
+			languageSigns = new String[languageColumnHeaders.size()];
+			int languageIndex = 0;
+			for (final Entry<Integer, String> entry : languageColumnHeaders.entrySet()) {
+				languageColumnIndexes[languageIndex] = entry.getKey();
+				languageSigns[languageIndex] = entry.getValue();
+				languageIndex++;
+			}
+		}
+
+		public void ensureCapacity(final int capacity) {
+			languagePropertyTable.ensureCapacity(capacity);
+		}
+
+		public LanguageProperty convert(final List<String> valuesRow) throws ArgonautException {
+			rowIndex++;
+
+			String path = null;
+			if (columnIndex_Path >= 0) {
+				path = valuesRow.get(columnIndex_Path).trim();
+			}
+
+			final String key = valuesRow.get(columnIndex_Keys).trim();
+
+			final LanguageProperty languageProperty = languagePropertyTable.addProperty(path, key);
+
+			if (columnIndex_Index >= 0) {
+				final String indexCell = valuesRow.get(columnIndex_Index);
+				try {
+					languageProperty.setOriginalIndex(Integer.parseInt(indexCell.trim()));
+				} catch (final Exception e) {
+					throw new ArgonautException("Csv file contains invalid index value at row " + (rowIndex + 1) + " and column " + (columnIndex_Index + 1), e);
+				}
+			} else {
+				languageProperty.setOriginalIndex(rowIndex);
+			}
+
+			if (columnIndex_Comment >= 0) {
+				languageProperty.setComment(valuesRow.get(columnIndex_Comment));
+			} else {
+				languageProperty.setComment(null);
+			}
+
+			for (int i = 0; i < languageColumnIndexes.length; i++) {
+				languageProperty.setLanguageValue(languageSigns[i], valuesRow.get(languageColumnIndexes[i]));
+			}
+
+			return languageProperty;
+		}
+	}
+
+	/**
+	 * Counts the bytes read from the file for the progress display
+	 */
+	private static class CountingInputStream extends FilterInputStream {
+		private volatile long bytesRead = 0;
+
+		public CountingInputStream(final InputStream inputStream) {
+			super(inputStream);
+		}
+
+		public long getBytesRead() {
+			return bytesRead;
+		}
+
+		@Override
+		public int read() throws IOException {
+			final int nextByte = super.read();
+			if (nextByte >= 0) {
+				bytesRead++;
+			}
+			return nextByte;
+		}
+
+		@Override
+		public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+			final int readLength = super.read(buffer, offset, length);
+			if (readLength > 0) {
+				bytesRead += readLength;
+			}
+			return readLength;
+		}
+
+		@Override
+		public long skip(final long length) throws IOException {
+			final long skippedLength = super.skip(length);
+			bytesRead += skippedLength;
+			return skippedLength;
+		}
+	}
 }
@@ -1,7 +1,6 @@
 package de.soderer.argonaut.worker;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -11,15 +10,12 @@ import java.util.Map.Entry;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.CellType;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
 import de.soderer.argonaut.ArgonautException;
+import de.soderer.argonaut.storage.ExcelHelper;
+import de.soderer.argonaut.storage.ExcelHelper.ExcelRowHandler;
 import de.soderer.argonaut.storage.LanguagePropertiesFileSetReader;
 import de.soderer.argonaut.storage.LanguageProperty;
+import de.soderer.argonaut.storage.LanguagePropertyTable;
 import de.soderer.utilities.Utilities;
 import de.soderer.utilities.worker.WorkerParentSimple;
 import de.soderer.utilities.worker.WorkerSimple;
@@ -44,183 +40,22 @@ public class ImportFromExcelWorker extends WorkerSimple<Boolean> {
 	@Override
 	public Boolean work() throws Exception {
 		parent.changeTitle("Excel import");
-		try (FileInputStream inputStream = new FileInputStream(importExcelFile);
-				final XSSFWorkbook workbook = new XSSFWorkbook(inputStream)) {
-			XSSFSheet sheet = null;
-			if (workbook.getNumberOfSheets() == 1) {
-				sheet = workbook.getSheetAt(0);
-			} else if (workbook.getNumberOfSheets() > 1) {
-				throw new ArgonautException("Excel file contains more than 1 expected sheet");
-			} else {
-				throw new ArgonautException("Excel file does not contain expected sheet");
-			}
-
-			// Read headers
-			int columnIndex_Path = -1;
-			int columnIndex_Keys = -1;
-			int columnIndex_Index = -1;
-			int columnIndex_Comment = -1;
-			final Map<Integer, String> languageColumnHeaders = new HashMap<>();
-			final Row headerRow = sheet.getRow(0);
-			int headerColumnIndex = -1;
-			for (final Cell headerCell : headerRow) {
-				headerColumnIndex++;
-				if (headerCell.getCellType() == CellType.STRING) {
-					final String cellValue = headerCell.getStringCellValue().trim();
-					if ("path".equalsIgnoreCase(cellValue.trim())
-							|| "pfad".equalsIgnoreCase(cellValue.trim())
-							|| "datei".equalsIgnoreCase(cellValue.trim())
-							|| "file".equalsIgnoreCase(cellValue.trim())) {
-						columnIndex_Path = headerColumnIndex;
-					} else if ("key".equalsIgnoreCase(cellValue.trim())
-							|| "keys".equalsIgnoreCase(cellValue.trim())
-							|| "bezeichner".equalsIgnoreCase(cellValue.trim())
-							|| "schlüssel".equalsIgnoreCase(cellValue.trim())
-							|| "schluessel".equalsIgnoreCase(cellValue.trim())) {
-						columnIndex_Keys = headerColumnIndex;
-					} else if ("index".equalsIgnoreCase(cellValue.trim())
-							|| "idx".equalsIgnoreCase(cellValue.trim())
-							|| "org.idx".equalsIgnoreCase(cellValue.trim())) {
-						columnIndex_Index = headerColumnIndex;
-					} else if ("comment".equalsIgnoreCase(cellValue.trim())
-							|| "kommentar".equalsIgnoreCase(cellValue.trim())) {
-						columnIndex_Comment = headerColumnIndex;
-					} else if ("default".equalsIgnoreCase(cellValue)) {
-						languageColumnHeaders.put(headerColumnIndex, cellValue.toLowerCase());
-					} else if (LANGUAGEANDCOUNTRYPATTERN.matcher(cellValue).matches()
-							|| LANGUAGEPATTERN.matcher(cellValue).matches()) {
-						languageColumnHeaders.put(headerColumnIndex, cellValue);
-					}
-				}
-			}
+		signalUnlimitedProgress();
 
-			if (columnIndex_Keys == -1) {
-				throw new ArgonautException("Excel file does not contain mandatory column for keys in sheet: " + sheet.getSheetName());
-			}
-
-			// Read data
-			languageProperties = new ArrayList<>();
-			int rowIndex = -1;
-
-			itemsToDo = sheet.getPhysicalNumberOfRows();
-			itemsDone = 0;
-
-			for (final Row row : sheet) {
-				rowIndex++;
-				if (rowIndex > 0) {
-					String path;
-					if (columnIndex_Path >= 0) {
-						final Cell pathCell = row.getCell(columnIndex_Path);
-						if (pathCell == null) {
-							path = null;
-						} else if (pathCell.getCellType() == CellType.STRING) {
-							path = pathCell.getStringCellValue().trim();
-						} else if (pathCell.getCellType() == CellType.BLANK) {
-							path = "";
-						} else {
-							throw new ArgonautException("Excel file contains invalid path value in sheet '" + sheet.getSheetName() + "' at row " + (rowIndex + 1) + " and column " + (columnIndex_Keys + 1));
-						}
-					} else {
-						path = null;
-					}
-
-					String key;
-					final Cell keyCell = row.getCell(columnIndex_Keys);
-					if (keyCell == null || keyCell.getCellType() == CellType.BLANK) {
-						key = null;
-					} else if (keyCell.getCellType() == CellType.STRING) {
-						key = keyCell.getStringCellValue().trim();
-					} else if (keyCell.getCellType() == CellType.NUMERIC) {
-						final Double value = Double.valueOf(keyCell.getNumericCellValue());
-						if ((value % 1) == 0) {
-							key = Integer.toString(value.intValue());
-						} else {
-							key = value.toString();
-						}
-					} else {
-						throw new ArgonautException("Excel file contains invalid key value in sheet '" + sheet.getSheetName() + "' at row " + (rowIndex + 1) + " and column " + (columnIndex_Keys + 1));
-					}
-
-					if (Utilities.isNotBlank(key)) {
-						final LanguageProperty languageProperty = new LanguageProperty(path, key);
-
-						if (columnIndex_Index >= 0) {
-							final Cell indexCell = row.getCell(columnIndex_Index);
-							try {
-								if (indexCell == null) {
-									languageProperty.setOriginalIndex(0);
-								} else if (indexCell.getCellType() == CellType.NUMERIC) {
-									languageProperty.setOriginalIndex(Double.valueOf(indexCell.getNumericCellValue()).intValue());
-								} else if (indexCell.getCellType() == CellType.STRING) {
-									languageProperty.setOriginalIndex(Integer.parseInt(indexCell.getStringCellValue().trim()));
-								} else if (indexCell.getCellType() == CellType.BLANK) {
-									languageProperty.setOriginalIndex(0);
-								} else {
-									throw new ArgonautException("Excel file contains invalid index data type '" + indexCell.getCellType().name() + "' in sheet '" + sheet.getSheetName() + "' at row " + (rowIndex + 1) + " and column " + (columnIndex_Index + 1));
-								}
-							} catch (final Exception e) {
-								throw new ArgonautException("Excel file contains invalid index value in sheet '" + sheet.getSheetName() + "' at row " + (rowIndex + 1) + " and column " + (columnIndex_Index + 1), e);
-							}
-						} else {
-							languageProperty.setOriginalIndex(rowIndex);
-						}
-
-						if (columnIndex_Comment >= 0) {
-							final Cell commentCell = row.getCell(columnIndex_Comment);
-							try {
-								if (commentCell == null) {
-									languageProperty.setComment(null);
-								} else if (commentCell.getCellType() == CellType.NUMERIC) {
-									final Double value = Double.valueOf(commentCell.getNumericCellValue());
-									if ((value % 1) == 0) {
-										languageProperty.setComment(Integer.toString(value.intValue()));
-									} else {
-										languageProperty.setComment(value.toString());
-									}
-								} else if (commentCell.getCellType() == CellType.STRING) {
-									languageProperty.setComment(commentCell.getStringCellValue());
-								} else if (commentCell.getCellType() == CellType.BLANK) {
-									languageProperty.setComment(null);
-								} else {
-									throw new ArgonautException("Excel file contains invalid comment data type '" + commentCell.getCellType().name() + "' in sheet '" + sheet.getSheetName() + "' at row " + (rowIndex + 1) + " and column " + (columnIndex_Index + 1));
-								}
-							} catch (final Exception e) {
-								throw new ArgonautException("Excel file contains invalid comment value in sheet '" + sheet.getSheetName() + "' at row " + (rowIndex + 1) + " and column " + (columnIndex_Index + 1), e);
-							}
-						} else {
-							languageProperty.setComment(null);
-						}
-
-						for (final Entry<Integer, String> entry : languageColumnHeaders.entrySet()) {
-							final Cell valueCell = row.getCell(entry.getKey());
-							if (valueCell == null) {
-								languageProperty.setLanguageValue(entry.getValue(), null);
-							} else if (valueCell.getCellType() == CellType.STRING) {
-								languageProperty.setLanguageValue(entry.getValue(), valueCell.getStringCellValue());
-							} else if (valueCell.getCellType() == CellType.NUMERIC) {
-								final Double value = Double.valueOf(valueCell.getNumericCellValue());
-								if ((value % 1) == 0) {
-									languageProperty.setLanguageValue(entry.getValue(), Integer.toString(value.intValue()));
-								} else {
-									languageProperty.setLanguageValue(entry.getValue(), value.toString());
-								}
-							} else if (valueCell.getCellType() == CellType.BLANK) {
-								languageProperty.setLanguageValue(entry.getValue(), null);
-							} else {
-								throw new ArgonautException("Excel file contains invalid data type '" + valueCell.getCellType().name() + "' in sheet '" + sheet.getSheetName() + "' at row " + (rowIndex + 1) + " and column " + (entry.getKey() + 1));
-							}
-						}
+		final List<String> sheetNames = ExcelHelper.getExcelSheetNames(importExcelFile);
+		if (sheetNames.size() > 1) {
+			throw new ArgonautException("Excel file contains more than 1 expected sheet");
+		} else if (sheetNames.isEmpty()) {
+			throw new ArgonautException("Excel file does not contain expected sheet");
+		}
 
-						languageProperties.add(languageProperty);
-					}
-				}
+		languageProperties = new ArrayList<>();
+		itemsDone = 0;
 
-				itemsDone++;
-				signalProgress(false);
-			}
-		}
+		// The rows are streamed from the file, so the number of rows is only known at the end
+		ExcelHelper.readSheetRows(importExcelFile, 0, new LanguagePropertyRowHandler(sheetNames.get(0)));
 
-		itemsDone = itemsToDo;
+		itemsToDo = itemsDone;
 		signalProgress(true);
 
 		availableLanguageSigns = Utilities.sortButPutItemsFirst(LanguagePropertiesFileSetReader.getAvailableLanguageSignsOfProperties(languageProperties), LanguagePropertiesFileSetReader.LANGUAGE_SIGN_DEFAULT);
@@ -247,6 +82,118 @@ public class ImportFromExcelWorker extends WorkerSimple<Boolean> {
 		return null;
 	}
 
+	/**
+	 * Converts the streamed rows of the sheet into LanguageProperties, the first row contains the headers
+	 */
+	private class LanguagePropertyRowHandler implements ExcelRowHandler {
+		private final String sheetName;
+		private int rowIndex = -1;
+		private int columnIndex_Path = -1;
+		private int columnIndex_Keys = -1;
+		private int columnIndex_Index = -1;
+		private int columnIndex_Comment = -1;
+		private final Map<Integer, String> languageColumnHeaders = new HashMap<>();
+		private final LanguagePropertyTable languagePropertyTable = new LanguagePropertyTable();
+
+		public LanguagePropertyRowHandler(final String sheetName) {
+			this.sheetName = sheetName;
+		}
+
+		@Override
+		public void handleRow(final int rowNumber, final Map<Integer, String> cellValues) throws Exception {
+			rowIndex++;
+			if (rowIndex == 0) {
+				readHeaders(cellValues);
+			} else {
+				readLanguageProperty(cellValues);
+			}
+
+			itemsDone++;
+		}
+
+		private void readHeaders(final Map<Integer, String> cellValues) throws Exception {
+			for (final Entry<Integer, String> headerEntry : cellValues.entrySet()) {
+				final int headerColumnIndex = headerEntry.getKey();
+				final String cellValue = headerEntry.getValue().trim();
+				if ("path".equalsIgnoreCase(cellValue)
+						|| "pfad".equalsIgnoreCase(cellValue)
+						|| "datei".equalsIgnoreCase(cellValue)
+						|| "file".equalsIgnoreCase(cellValue)) {
+					columnIndex_Path = headerColumnIndex;
+				} else if ("key".equalsIgnoreCase(cellValue)
+						|| "keys".equalsIgnoreCase(cellValue)
+						|| "bezeichner".equalsIgnoreCase(cellValue)
+						|| "schlüssel".equalsIgnoreCase(cellValue)
+						|| "schluessel".equalsIgnoreCase(cellValue)) {
+					columnIndex_Keys = headerColumnIndex;
+				} else if ("index".equalsIgnoreCase(cellValue)
+						|| "idx".equalsIgnoreCase(cellValue)
+						|| "org.idx".equalsIgnoreCase(cellValue)) {
+					columnIndex_Index = headerColumnIndex;
+				} else if ("comment".equalsIgnoreCase(cellValue)
+						|| "kommentar".equalsIgnoreCase(cellValue)) {
+					columnIndex_Comment = headerColumnIndex;
+				} else if ("default".equalsIgnoreCase(cellValue)) {
+					languageColumnHeaders.put(headerColumnIndex, cellValue.toLowerCase());
+				} else if (LANGUAGEANDCOUNTRYPATTERN.matcher(cellValue).matches()
+						|| LANGUAGEPATTERN.matcher(cellValue).matches()) {
+					languageColumnHeaders.put(headerColumnIndex, cellValue);
+				}
+			}
+
+			if (columnIndex_Keys == -1) {
+				throw new ArgonautException("Excel file does not contain mandatory column for keys in sheet: " + sheetName);
+			}
+		}
+
+		private void readLanguageProperty(final Map<Integer, String> cellValues) throws Exception {
+			String path = null;
+			if (columnIndex_Path >= 0) {
+				path = cellValues.containsKey(columnIndex_Path) ? cellValues.get(columnIndex_Path).trim() : "";
+			}
+
+			final String key = cellValues.containsKey(columnIndex_Keys) ? cellValues.get(columnIndex_Keys).trim() : null;
+			if (Utilities.isBlank(key)) {
+				return;
+			}
+
+			final LanguageProperty languageProperty = languagePropertyTable.addProperty(path, key);
+
+			if (columnIndex_Index >= 0) {
+				final String indexValue = cellValues.get(columnIndex_Index);
+				if (Utilities.isBlank(indexValue)) {
+					languageProperty.setOriginalIndex(0);
+				} else {
+					try {
+						languageProperty.setOriginalIndex(Integer.parseInt(indexValue.trim()));
+					} catch (@SuppressWarnings("unused") final NumberFormatException e) {
+						try {
+							// Numbers formatted with decimal places
+							languageProperty.setOriginalIndex(Double.valueOf(indexValue.trim()).intValue());
+						} catch (final NumberFormatException e2) {
+							throw new ArgonautException("Excel file contains invalid index value in sheet '" + sheetName + "' at row " + (rowIndex + 1) + " and column " + (columnIndex_Index + 1), e2);
+						}
+					}
+				}
+			} else {
+				languageProperty.setOriginalIndex(rowIndex);
+			}
+
+			if (columnIndex_Comment >= 0) {
+				final String commentValue = cellValues.get(columnIndex_Comment);
+				languageProperty.setComment(Utilities.isEmpty(commentValue) ? null : commentValue);
+			} else {
+				languageProperty.setComment(null);
+			}
+
+			for (final Entry<Integer, String> entry : languageColumnHeaders.entrySet()) {
+				languageProperty.setLanguageValue(entry.getValue(), cellValues.get(entry.getKey()));
+			}
+
+			languageProperties.add(languageProperty);
+		}
+	}
+
 	public List<String> getLanguagePropertiesSetNames() {
 		return languagePropertiesSetNames;
 	}
@@ -8,6 +8,10 @@ import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -32,6 +36,7 @@ public class LoadLanguagePropertiesWorker extends WorkerSimple<Boolean> {
 	private List<String> availableLanguageSigns;
 	private boolean commentsFound;
 	private final String propertiesFileExtension;
+	private int parallelThreads = 1;
 
 	public LoadLanguagePropertiesWorker(final WorkerParentSimple parent, final File languagePropertiesFileOrBasicDirectory, final String[] excludeParts, final String propertiesFileExtension) {
 		super(parent);
@@ -41,6 +46,14 @@ public class LoadLanguagePropertiesWorker extends WorkerSimple<Boolean> {
 		this.propertiesFileExtension = propertiesFileExtension;
 	}
 
+	/**
+	 * With more than one thread the directory tree is searched and the found language properties sets are loaded concurrently
+	 */
+	public LoadLanguagePropertiesWorker setParallelThreads(final int parallelThreads) {
+		this.parallelThreads = Math.max(1, parallelThreads);
+		return this;
+	}
+
 	@Override
 	public Boolean work() throws Exception {
 		languagePropertiesSetNames = new ArrayList<>();
@@ -72,46 +85,86 @@ public class LoadLanguagePropertiesWorker extends WorkerSimple<Boolean> {
 			parent.changeTitle(LangResources.get("searchingLanguageProperties"));
 			signalUnlimitedProgress();
 
-			final Collection<File> propertiesFiles = FileUtils.listFiles(languagePropertiesFileOrBasicDirectory, new RegexFileFilter("^.*_en" + Pattern.quote(propertiesFileExtension) + "$||^.*_de" + Pattern.quote(propertiesFileExtension) + "$"), DirectoryFileFilter.DIRECTORY);
-			final Set<String> propertiesSetsPaths = new HashSet<>();
-			for (final File propertiesFile : propertiesFiles) {
-				boolean excluded = false;
-				if (excludeParts != null) {
-					for (final String excludePart : excludeParts) {
-						if (propertiesFile.getAbsolutePath().contains(excludePart)) {
-							excluded = true;
-							break;
+			final ForkJoinPool pool = parallelThreads > 1 ? new ForkJoinPool(parallelThreads) : null;
+			try {
+				final Pattern propertiesFilePattern = Pattern.compile("^.*_en" + Pattern.quote(propertiesFileExtension) + "$||^.*_de" + Pattern.quote(propertiesFileExtension) + "$");
+				final Collection<File> propertiesFiles;
+				if (pool != null) {
+					propertiesFiles = pool.invoke(new PropertiesFilesSearchTask(languagePropertiesFileOrBasicDirectory, propertiesFilePattern));
+				} else {
+					propertiesFiles = FileUtils.listFiles(languagePropertiesFileOrBasicDirectory, new RegexFileFilter(propertiesFilePattern), DirectoryFileFilter.DIRECTORY);
+				}
+				final Set<String> propertiesSetsPaths = new HashSet<>();
+				for (final File propertiesFile : propertiesFiles) {
+					boolean excluded = false;
+					if (excludeParts != null) {
+						for (final String excludePart : excludeParts) {
+							if (propertiesFile.getAbsolutePath().contains(excludePart)) {
+								excluded = true;
+								break;
+							}
 						}
 					}
+					if (!excluded) {
+						final String propertySetName = propertiesFile.getName().substring(0, propertiesFile.getName().indexOf("_"));
+						final String propertiesSetsPath = propertiesFile.getParentFile().getAbsolutePath() + File.separator + propertySetName;
+						propertiesSetsPaths.add(propertiesSetsPath);
+					}
 				}
-				if (!excluded) {
-					final String propertySetName = propertiesFile.getName().substring(0, propertiesFile.getName().indexOf("_"));
-					final String propertiesSetsPath = propertiesFile.getParentFile().getAbsolutePath() + File.separator + propertySetName;
-					propertiesSetsPaths.add(propertiesSetsPath);
+
+				final List<String> propertiesPaths = new ArrayList<>(propertiesSetsPaths);
+				Collections.sort(propertiesPaths);
+
+				if (cancel) {
+					return !cancel;
 				}
-			}
 
-			final List<String> propertiesPaths = new ArrayList<>(propertiesSetsPaths);
-			Collections.sort(propertiesPaths);
+				parent.changeTitle(LangResources.get("loadingLanguageProperties"));
+				itemsToDo = propertiesSetsPaths.size();
+				itemsDone = 0;
+				signalProgress(true);
+
+				languageProperties = new ArrayList<>();
+				if (pool != null) {
+					// Sets are loaded concurrently, but collected in the sorted order of their paths
+					final List<Future<List<LanguageProperty>>> loadFutures = new ArrayList<>(propertiesPaths.size());
+					for (final String propertiesPath : propertiesPaths) {
+						loadFutures.add(pool.submit(() -> LanguagePropertiesFileSetReader.read(new File(propertiesPath).getParentFile(), new File(propertiesPath).getName(), propertiesFileExtension, false)));
+					}
+					for (int i = 0; i < propertiesPaths.size(); i++) {
+						if (cancel) {
+							return !cancel;
+						}
 
-			if (cancel) {
-				return !cancel;
-			}
+						try {
+							languageProperties.addAll(loadFutures.get(i).get());
+						} catch (final ExecutionException e) {
+							throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+						}
+						languagePropertiesSetNames.add(new File(propertiesPaths.get(i)).getName());
 
-			parent.changeTitle(LangResources.get("loadingLanguageProperties"));
-			itemsToDo = propertiesSetsPaths.size();
-			itemsDone = 0;
-			signalProgress(true);
+						itemsDone++;
+						signalProgress(false);
+					}
+				} else {
+					for (final String propertiesPath : propertiesPaths) {
+						if (cancel) {
+							return !cancel;
+						}
 
-			languageProperties = new ArrayList<>();
-			for (final String propertiesPath : propertiesPaths) {
-				final String layoutPropertySetName = new File(propertiesPath).getName();
-				final List<LanguageProperty> nextLanguageProperties = LanguagePropertiesFileSetReader.read(new File(propertiesPath).getParentFile(), layoutPropertySetName, propertiesFileExtension, false);
-				languageProperties.addAll(nextLanguageProperties);
-				languagePropertiesSetNames.add(layoutPropertySetName);
+						final String layoutPropertySetName = new File(propertiesPath).getName();
+						final List<LanguageProperty> nextLanguageProperties = LanguagePropertiesFileSetReader.read(new File(propertiesPath).getParentFile(), layoutPropertySetName, propertiesFileExtension, false);
+						languageProperties.addAll(nextLanguageProperties);
+						languagePropertiesSetNames.add(layoutPropertySetName);
 
-				itemsDone++;
-				signalProgress(false);
+						itemsDone++;
+						signalProgress(false);
+					}
+				}
+			} finally {
+				if (pool != null) {
+					pool.shutdownNow();
+				}
 			}
 		}
 
@@ -154,4 +207,43 @@ public class LoadLanguagePropertiesWorker extends WorkerSimple<Boolean> {
 	public String getResultText() {
 		return null;
 	}
+
+	/**
+	 * Searches a directory for language properties files and forks a subtask for each of its subdirectories
+	 */
+	private class PropertiesFilesSearchTask extends RecursiveTask<List<File>> {
+		private static final long serialVersionUID = -3472954406133512887L;
+
+		private final File directory;
+		private final Pattern propertiesFilePattern;
+
+		public PropertiesFilesSearchTask(final File directory, final Pattern propertiesFilePattern) {
+			this.directory = directory;
+			this.propertiesFilePattern = propertiesFilePattern;
+		}
+
+		@Override
+		protected List<File> compute() {
+			final List<File> propertiesFiles = new ArrayList<>();
+			final File[] directoryEntries = directory.listFiles();
+			if (directoryEntries == null || cancel) {
+				return propertiesFiles;
+			}
+
+			final List<PropertiesFilesSearchTask> subdirectoryTasks = new ArrayList<>();
+			for (final File directoryEntry : directoryEntries) {
+				if (directoryEntry.isDirectory()) {
+					final PropertiesFilesSearchTask subdirectoryTask = new PropertiesFilesSearchTask(directoryEntry, propertiesFilePattern);
+					subdirectoryTask.fork();
+					subdirectoryTasks.add(subdirectoryTask);
+				} else if (propertiesFilePattern.matcher(directoryEntry.getName()).matches()) {
+					propertiesFiles.add(directoryEntry);
+				}
+			}
+			for (final PropertiesFilesSearchTask subdirectoryTask : subdirectoryTasks) {
+				propertiesFiles.addAll(subdirectoryTask.join());
+			}
+			return propertiesFiles;
+		}
+	}
 }
@@ -0,0 +1,78 @@
+package de.soderer.argonaut.worker;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import de.soderer.argonaut.helper.ArgoWfSchedulerClient;
+import de.soderer.argonaut.helper.TaskSearchQuery;
+import de.soderer.argonaut.helper.TaskStatus;
+import de.soderer.argonaut.helper.TaskStatusBulkLoadResult;
+import de.soderer.argonaut.helper.TaskStatusLoadListener;
+import de.soderer.utilities.LangResources;
+import de.soderer.utilities.worker.WorkerParentSimple;
+import de.soderer.utilities.worker.WorkerSimple;
+
+/**
+ * Loads the task instances of one page of a workflow template's tasks, with the first page also the workflow template parameters.
+ * Each TaskStatus is handed over to the taskStatusConsumer as soon as it is loaded, so the caller may show partial results.
+ * The taskStatusConsumer is called by the request threads.
+ */
+public class LoadTaskInstancesWorker extends WorkerSimple<TaskStatusBulkLoadResult> implements TaskStatusLoadListener {
+	private final ArgoWfSchedulerClient argoWfSchedulerClient;
+	private final TaskSearchQuery query;
+	private final Consumer<TaskStatus> taskStatusConsumer;
+
+	private Map<String, String> workflowTemplateParameters = null;
+
+	public LoadTaskInstancesWorker(final WorkerParentSimple parent, final ArgoWfSchedulerClient argoWfSchedulerClient, final TaskSearchQuery query, final Consumer<TaskStatus> taskStatusConsumer) {
+		super(parent);
+
+		this.argoWfSchedulerClient = argoWfSchedulerClient;
+		this.query = query;
+		this.taskStatusConsumer = taskStatusConsumer;
+	}
+
+	@Override
+	public TaskStatusBulkLoadResult work() throws Exception {
+		parent.changeTitle(LangResources.get("loadingTaskInstances"));
+		signalUnlimitedProgress();
+
+		if (query.getPage() == null || query.getPage() == 0) {
+			workflowTemplateParameters = argoWfSchedulerClient.getWorkflowTemplateParameters(query.getWorkflowTemplateName());
+			if (cancel) {
+				return null;
+			}
+		}
+
+		final TaskStatusBulkLoadResult taskStatusBulkLoadResult = argoWfSchedulerClient.getWorkflowTemplateTaskStatus(query, this);
+
+		signalProgress(true);
+
+		return cancel ? null : taskStatusBulkLoadResult;
+	}
+
+	/**
+	 * Parameters of the workflow template, only loaded with the first page
+	 */
+	public Map<String, String> getWorkflowTemplateParameters() {
+		return workflowTemplateParameters;
+	}
+
+	@Override
+	public synchronized void receiveTaskCount(final int taskCount) {
+		itemsToDo = taskCount;
+		signalProgress(true);
+	}
+
+	@Override
+	public void receiveTaskStatus(final TaskStatus taskStatus) {
+		if (!cancel) {
+			taskStatusConsumer.accept(taskStatus);
+
+			synchronized (this) {
+				itemsDone++;
+				signalProgress(false);
+			}
+		}
+	}
+}
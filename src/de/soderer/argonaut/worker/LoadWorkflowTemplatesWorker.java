@@ -0,0 +1,26 @@
+package de.soderer.argonaut.worker;
+
+import java.util.List;
+
+import de.soderer.argonaut.helper.ArgoWfSchedulerClient;
+import de.soderer.utilities.LangResources;
+import de.soderer.utilities.worker.WorkerParentSimple;
+import de.soderer.utilities.worker.WorkerSimple;
+
+public class LoadWorkflowTemplatesWorker extends WorkerSimple<List<String>> {
+	private final ArgoWfSchedulerClient argoWfSchedulerClient;
+
+	public LoadWorkflowTemplatesWorker(final WorkerParentSimple parent, final ArgoWfSchedulerClient argoWfSchedulerClient) {
+		super(parent);
+
+		this.argoWfSchedulerClient = argoWfSchedulerClient;
+	}
+
+	@Override
+	public List<String> work() throws Exception {
+		parent.changeTitle(LangResources.get("loadingWorkflowTemplates"));
+		signalUnlimitedProgress();
+
+		return argoWfSchedulerClient.getWorkflowNames();
+	}
+}
@@ -0,0 +1,56 @@
+package de.soderer.argonaut.worker;
+
+import java.util.Map;
+
+import de.soderer.argonaut.helper.ArgoWfSchedulerClient;
+import de.soderer.utilities.LangResources;
+import de.soderer.utilities.worker.WorkerParentSimple;
+import de.soderer.utilities.worker.WorkerSimple;
+
+/**
+ * Creates a new task of a workflow template and starts it.
+ * Returns the ID of the new task.
+ */
+public class StartTaskWorker extends WorkerSimple<Integer> {
+	private final ArgoWfSchedulerClient argoWfSchedulerClient;
+	private final String workflowTemplateName;
+	private final Map<String, String> parameters;
+
+	public StartTaskWorker(final WorkerParentSimple parent, final ArgoWfSchedulerClient argoWfSchedulerClient, final String workflowTemplateName, final Map<String, String> parameters) {
+		super(parent);
+
+		this.argoWfSchedulerClient = argoWfSchedulerClient;
+		this.workflowTemplateName = workflowTemplateName;
+		this.parameters = parameters;
+	}
+
+	@Override
+	public Integer work() throws Exception {
+		parent.changeTitle(LangResources.get("startingTask"));
+		itemsToDo = 2;
+		signalProgress(true);
+
+		int taskID;
+		try {
+			taskID = argoWfSchedulerClient.createTask(workflowTemplateName, parameters, true);
+		} catch (final Exception e) {
+			throw new Exception("Cannot create new task: " + e.getMessage(), e);
+		}
+		itemsDone++;
+		signalProgress(true);
+
+		if (cancel) {
+			return taskID;
+		}
+
+		try {
+			argoWfSchedulerClient.startTask(taskID);
+		} catch (final Exception e) {
+			throw new Exception("Cannot start newly created task " + taskID + ": " + e.getMessage(), e);
+		}
+		itemsDone++;
+		signalProgress(true);
+
+		return taskID;
+	}
+}
@@ -2,22 +2,19 @@ package de.soderer.argonaut.worker;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.filefilter.DirectoryFileFilter;
-import org.apache.commons.io.filefilter.RegexFileFilter;
-
 import de.soderer.argonaut.ArgonautException;
 import de.soderer.argonaut.storage.LanguagePropertiesFileSetWriter;
+import de.soderer.argonaut.storage.LanguagePropertiesSetPathIndex;
 import de.soderer.argonaut.storage.LanguageProperty;
+import de.soderer.argonaut.storage.LanguagePropertyTable;
 import de.soderer.utilities.Utilities;
 import de.soderer.utilities.worker.WorkerParentSimple;
 import de.soderer.utilities.worker.WorkerSimple;
@@ -35,6 +32,7 @@ public class WriteLanguagePropertiesWorker extends WorkerSimple<Boolean> {
 	private final String propertiesFileExtension;
 
 	private List<String> listOfStoredProperties;
+	private List<File> writtenFiles;
 
 	public WriteLanguagePropertiesWorker(final WorkerParentSimple parent, final List<LanguageProperty> languageProperties, final String languagePropertySetName, final File outputDirectory, final String[] excludeParts, final boolean extendAndKeepExistingProperties, final String propertiesFileExtension) {
 		super(parent);
@@ -53,6 +51,7 @@ public class WriteLanguagePropertiesWorker extends WorkerSimple<Boolean> {
 
 		signalUnlimitedProgress();
 
+		writtenFiles = new ArrayList<>();
 		if (outputDirectory != null) {
 			if (!outputDirectory.exists() || !outputDirectory.isDirectory()) {
 				throw new ArgonautException("Output directory for language properties set does not exist: " + outputDirectory.getAbsolutePath());
@@ -66,7 +65,7 @@ public class WriteLanguagePropertiesWorker extends WorkerSimple<Boolean> {
 			}
 
 			if (languagePropertiesPaths.size() > 0) {
-				final List<String> existingPropertiesPaths = getAllPropertiesPaths(outputDirectory);
+				final LanguagePropertiesSetPathIndex setPathIndex = LanguagePropertiesSetPathIndex.getInstance(outputDirectory, propertiesFileExtension, excludeParts);
 
 				final Comparator<LanguageProperty> compareByIndex = Comparator.comparing(LanguageProperty::getPath).thenComparing(LanguageProperty::getOriginalIndex);
 
@@ -75,16 +74,10 @@ public class WriteLanguagePropertiesWorker extends WorkerSimple<Boolean> {
 
 				listOfStoredProperties = new ArrayList<>();
 				for (final String languagePropertiesPath : languagePropertiesPaths) {
-					int foundAmount = 0;
-					String foundPath = null;
 					final String propertySetName = new File(languagePropertiesPath).getName();
-					for (final String existingPropertiesPath : existingPropertiesPaths) {
-						final String existingPropertieSetName = new File(existingPropertiesPath).getName();
-						if (existingPropertieSetName.equals(propertySetName)) {
-							foundPath = existingPropertiesPath;
-							foundAmount++;
-						}
-					}
+					final List<String> existingPropertiesPaths = setPathIndex.getSetPaths(propertySetName);
+					final int foundAmount = existingPropertiesPaths.size();
+					final String foundPath = foundAmount > 0 ? existingPropertiesPaths.get(foundAmount - 1) : null;
 					if (foundAmount > 1) {
 						throw new ArgonautException("Found multiple storage paths for language properties set: " + propertySetName);
 					} else {
@@ -95,14 +88,14 @@ public class WriteLanguagePropertiesWorker extends WorkerSimple<Boolean> {
 							for (final LanguageProperty languageProperty : languagePropertiesForStorage) {
 								languageProperty.setPath(Utilities.replaceUsersHomeByTilde(new File(foundPath).getAbsolutePath()));
 							}
-							LanguagePropertiesFileSetWriter.write(languagePropertiesForStorage, new File(foundPath).getParentFile(), new File(foundPath).getName(), extendAndKeepExistingProperties, propertiesFileExtension);
+							writtenFiles.addAll(LanguagePropertiesFileSetWriter.write(languagePropertiesForStorage, new File(foundPath).getParentFile(), new File(foundPath).getName(), extendAndKeepExistingProperties, propertiesFileExtension));
 							listOfStoredProperties.add(foundPath);
 						} else {
 							// Create new properties set files
 							for (final LanguageProperty languageProperty : languagePropertiesForStorage) {
 								languageProperty.setPath(Utilities.replaceUsersHomeByTilde(new File(outputDirectory, propertySetName).getAbsolutePath()));
 							}
-							LanguagePropertiesFileSetWriter.write(languagePropertiesForStorage, outputDirectory, propertySetName, extendAndKeepExistingProperties, propertiesFileExtension);
+							writtenFiles.addAll(LanguagePropertiesFileSetWriter.write(languagePropertiesForStorage, outputDirectory, propertySetName, extendAndKeepExistingProperties, propertiesFileExtension));
 							listOfStoredProperties.add(new File(outputDirectory, propertySetName).getAbsolutePath());
 						}
 					}
@@ -112,7 +105,7 @@ public class WriteLanguagePropertiesWorker extends WorkerSimple<Boolean> {
 				}
 			} else {
 				// Store only one language properties set which has no file path defined in LanguageProperty objects
-				LanguagePropertiesFileSetWriter.write(languageProperties, outputDirectory, languagePropertySetName, extendAndKeepExistingProperties, propertiesFileExtension);
+				writtenFiles.addAll(LanguagePropertiesFileSetWriter.write(languageProperties, outputDirectory, languagePropertySetName, extendAndKeepExistingProperties, propertiesFileExtension));
 			}
 		} else {
 			final Set<String> languagePropertiesPaths = new HashSet<>();
@@ -144,7 +137,7 @@ public class WriteLanguagePropertiesWorker extends WorkerSimple<Boolean> {
 				final String propertySetName = new File(languagePropertiesPathToStore).getName();
 				final List<LanguageProperty> languagePropertiesForStorage = languageProperties.stream().filter(o -> Utilities.replaceUsersHome(o.getPath()).equals(Utilities.replaceUsersHome(languagePropertiesPathToStore))).sorted(compareByIndex).collect(Collectors.toList());
 
-				LanguagePropertiesFileSetWriter.write(languagePropertiesForStorage, new File(languagePropertiesPathToStore).getParentFile(), propertySetName, extendAndKeepExistingProperties, propertiesFileExtension);
+				writtenFiles.addAll(LanguagePropertiesFileSetWriter.write(languagePropertiesForStorage, new File(languagePropertiesPathToStore).getParentFile(), propertySetName, extendAndKeepExistingProperties, propertiesFileExtension));
 				listOfStoredProperties.add(languagePropertiesPathToStore);
 
 				itemsDone++;
@@ -152,40 +145,31 @@ public class WriteLanguagePropertiesWorker extends WorkerSimple<Boolean> {
 			}
 		}
 
+		// All properties are stored now, so only later changes have to be written next time
+		final Set<LanguagePropertyTable> storedTables = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (final LanguageProperty languageProperty : languageProperties) {
+			if (storedTables.add(languageProperty.getTable())) {
+				languageProperty.getTable().markUnmodified();
+			}
+		}
+
 		itemsDone = itemsToDo;
 		signalProgress(true);
 
 		return !cancel;
 	}
 
-	private List<String> getAllPropertiesPaths(final File basicDirectory) {
-		final Collection<File> propertiesFiles = FileUtils.listFiles(basicDirectory, new RegexFileFilter("^.*_en" + Pattern.quote(propertiesFileExtension) + "$||^.*_de" + Pattern.quote(propertiesFileExtension) + "$"), DirectoryFileFilter.DIRECTORY);
-		final Set<String> propertiesSetsPaths = new HashSet<>();
-		for (final File propertiesFile : propertiesFiles) {
-			boolean excluded = false;
-			if (excludeParts != null) {
-				for (final String excludePart : excludeParts) {
-					if (propertiesFile.getAbsolutePath().contains(excludePart.replace("\\\\", "\\"))) {
-						excluded = true;
-						break;
-					}
-				}
-			}
-			if (!excluded) {
-				final String propertySetName = propertiesFile.getName().substring(0, propertiesFile.getName().indexOf("_"));
-				final String propertiesSetsPath = propertiesFile.getParentFile().getAbsolutePath() + File.separator + propertySetName;
-				propertiesSetsPaths.add(propertiesSetsPath);
-			}
-		}
-		final List<String> returnList = new ArrayList<>(propertiesSetsPaths);
-		Collections.sort(returnList);
-		return returnList;
-	}
-
 	public List<String> getListOfStoredProperties() {
 		return listOfStoredProperties;
 	}
 
+	/**
+	 * Language files whose content was changed, files with unchanged content are not rewritten
+	 */
+	public List<File> getWrittenFiles() {
+		return writtenFiles;
+	}
+
 	@Override
 	public String getResultText() {
 		return null;